@@ -0,0 +1,118 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union.benchmark;
+
+import com.aoapps.lang.validation.ValidationException;
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import com.semanticcms.core.pages.union.UnionPageRepository;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link UnionPageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)} over
+ * in-memory members with the default settings, by number of members, position of the member providing the page, and
+ * capture level.  This is the overhead of the union itself.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GetPageBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  public int members;
+
+  @Param({"PAGE", "META", "BODY"})
+  public CaptureLevel captureLevel;
+
+  private UnionPageRepository union;
+  private Path firstPath;
+  private Path middlePath;
+  private Path lastPath;
+  private Path missingPath;
+
+  @Setup
+  public void setup() throws ValidationException {
+    union = UnionPageRepository.getInstance(Stubs.newRepositories(members, 0));
+    firstPath = Stubs.memberPath(0);
+    middlePath = Stubs.memberPath(members / 2);
+    lastPath = Stubs.memberPath(members - 1);
+    missingPath = Stubs.missingPath();
+  }
+
+  @Benchmark
+  public Page hitFirst() throws IOException {
+    return union.getPage(firstPath, captureLevel);
+  }
+
+  @Benchmark
+  public Page hitMiddle() throws IOException {
+    return union.getPage(middlePath, captureLevel);
+  }
+
+  @Benchmark
+  public Page hitLast() throws IOException {
+    return union.getPage(lastPath, captureLevel);
+  }
+
+  @Benchmark
+  public Page miss() throws IOException {
+    return union.getPage(missingPath, captureLevel);
+  }
+
+  /**
+   * Many threads looking up the same path in the same union.
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Page hitLastContended() throws IOException {
+    return union.getPage(lastPath, captureLevel);
+  }
+
+  /**
+   * Many threads looking up a path not in any member of the same union.
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Page missContended() throws IOException {
+    return union.getPage(missingPath, captureLevel);
+  }
+}
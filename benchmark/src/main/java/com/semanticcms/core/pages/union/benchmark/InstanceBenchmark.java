@@ -0,0 +1,111 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union.benchmark;
+
+import com.aoapps.lang.validation.ValidationException;
+import com.semanticcms.core.pages.PageRepository;
+import com.semanticcms.core.pages.union.UnionPageRepository;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link UnionPageRepository#getInstance(com.semanticcms.core.pages.PageRepository...)} and
+ * {@link UnionPageRepository#isAvailable()} over in-memory members.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstanceBenchmark {
+
+  @Param({"1", "4", "8"})
+  public int members;
+
+  private PageRepository[] repositories;
+  private List<PageRepository> repositoryList;
+  private UnionPageRepository union;
+  private UnionPageRepository cachedAvailabilityUnion;
+
+  @Setup
+  public void setup() throws ValidationException {
+    repositories = Stubs.newRepositories(members, 0);
+    repositoryList = Arrays.asList(repositories);
+    // Held for the whole trial so getInstance finds the existing union
+    union = UnionPageRepository.getInstance(repositories);
+    cachedAvailabilityUnion = UnionPageRepository.getInstance(Stubs.newRepositories(members, 0));
+    cachedAvailabilityUnion.setAvailabilityTtl(Duration.ofMinutes(1));
+  }
+
+  /**
+   * Finds the existing union for an array of members.
+   */
+  @Benchmark
+  public UnionPageRepository getInstanceArray() {
+    return UnionPageRepository.getInstance(repositories);
+  }
+
+  /**
+   * Finds the existing union for an {@link Iterable} of members.
+   */
+  @Benchmark
+  public UnionPageRepository getInstanceIterable() {
+    return UnionPageRepository.getInstance(repositoryList);
+  }
+
+  /**
+   * Many threads finding the same existing union.
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public UnionPageRepository getInstanceContended() {
+    return UnionPageRepository.getInstance(repositories);
+  }
+
+  @Benchmark
+  public boolean isAvailable() {
+    return union.isAvailable();
+  }
+
+  @Benchmark
+  public boolean isAvailableCached() {
+    return cachedAvailabilityUnion.isAvailable();
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union.benchmark;
+
+import com.aoapps.lang.validation.ValidationException;
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import com.semanticcms.core.pages.union.LookupPolicy;
+import com.semanticcms.core.pages.union.UnionPageRepository;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link UnionPageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)} over
+ * members that take a fixed time to answer, comparing the {@link LookupPolicy lookup policies}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyBenchmark {
+
+  @Param({"4"})
+  public int members;
+
+  @Param({"100", "1000"})
+  public long latencyMicros;
+
+  @Param({"SEQUENTIAL", "PARALLEL", "HEDGED"})
+  public LookupPolicy lookupPolicy;
+
+  private UnionPageRepository union;
+  private Path firstPath;
+  private Path lastPath;
+  private Path missingPath;
+
+  @Setup
+  public void setup() throws ValidationException {
+    union = UnionPageRepository.getInstance(
+        Stubs.newRepositories(members, TimeUnit.MICROSECONDS.toNanos(latencyMicros))
+    );
+    union.setLookupPolicy(lookupPolicy);
+    firstPath = Stubs.memberPath(0);
+    lastPath = Stubs.memberPath(members - 1);
+    missingPath = Stubs.missingPath();
+  }
+
+  @Benchmark
+  public Page hitFirst() throws IOException {
+    return union.getPage(firstPath, CaptureLevel.META);
+  }
+
+  @Benchmark
+  public Page hitLast() throws IOException {
+    return union.getPage(lastPath, CaptureLevel.META);
+  }
+
+  @Benchmark
+  public Page miss() throws IOException {
+    return union.getPage(missingPath, CaptureLevel.META);
+  }
+
+  /**
+   * Many threads competing for the executor used by the concurrent lookup policies.
+   */
+  @Benchmark
+  @Threads(16)
+  public Page hitLastContended() throws IOException {
+    return union.getPage(lastPath, CaptureLevel.META);
+  }
+}
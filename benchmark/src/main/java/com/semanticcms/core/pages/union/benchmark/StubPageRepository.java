@@ -0,0 +1,91 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union.benchmark;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import com.semanticcms.core.pages.PageRepository;
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A synthetic, in-memory {@link PageRepository} that contains a fixed set of paths, optionally taking a fixed time to
+ * answer each call to simulate a repository backed by I/O.
+ */
+final class StubPageRepository implements PageRepository {
+
+  private final String name;
+  private final Set<Path> paths;
+  private final long latencyNanos;
+  private final Page page = new Page();
+
+  /**
+   * @param latencyNanos  the time taken by each call or {@code 0} to answer immediately
+   */
+  StubPageRepository(String name, Set<Path> paths, long latencyNanos) {
+    this.name = name;
+    this.paths = Set.copyOf(paths);
+    this.latencyNanos = latencyNanos;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * Waits for the latency, stopping early when interrupted.
+   *
+   * @return  {@code true} when the full latency passed or {@code false} when interrupted
+   */
+  private boolean injectLatency() {
+    if (latencyNanos != 0) {
+      long end = System.nanoTime() + latencyNanos;
+      long remaining;
+      while ((remaining = end - System.nanoTime()) > 0) {
+        if (Thread.currentThread().isInterrupted()) {
+          return false;
+        }
+        LockSupport.parkNanos(remaining);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return injectLatency();
+  }
+
+  @Override
+  public Page getPage(Path path, CaptureLevel captureLevel) throws InterruptedIOException {
+    if (!injectLatency()) {
+      throw new InterruptedIOException();
+    }
+    return paths.contains(path) ? page : null;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union.benchmark;
+
+import com.aoapps.lang.validation.ValidationException;
+import com.aoapps.net.Path;
+import com.semanticcms.core.pages.PageRepository;
+import java.util.Set;
+
+/**
+ * The members and paths shared by the benchmarks.  Member {@code i} contains only the path
+ * <code>/member-<var>i</var>.html</code>, so each path is found at a known position in the union.
+ */
+final class Stubs {
+
+  /** Make no instances. */
+  private Stubs() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Gets the path contained only by the given member.
+   */
+  static Path memberPath(int member) throws ValidationException {
+    return Path.valueOf("/member-" + member + ".html");
+  }
+
+  /**
+   * Gets a path contained by no member.
+   */
+  static Path missingPath() throws ValidationException {
+    return Path.valueOf("/missing.html");
+  }
+
+  /**
+   * Creates new members, each containing only its {@linkplain #memberPath(int) member path}.
+   *
+   * @param latencyNanos  the time taken by each call to each member or {@code 0} to answer immediately
+   */
+  static PageRepository[] newRepositories(int members, long latencyNanos) throws ValidationException {
+    PageRepository[] repositories = new PageRepository[members];
+    for (int i = 0; i < members; i++) {
+      repositories[i] = new StubPageRepository("member-" + i, Set.of(memberPath(i)), latencyNanos);
+    }
+    return repositories;
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Searches members without blocking the calling thread, composing the blocking member lookups on an executor
+ * according to the {@link LookupPolicy}.  First-in-order-wins semantics are preserved under every policy.
+ *
+ * <p>One instance is created per lookup to hold its state.</p>
+ */
+final class AsyncLookup {
+
+  /**
+   * Searches the members asynchronously.
+   *
+   * @param routed  the index of a member to search first, before searching the others in-order, or {@code -1} to
+   *                search all in-order
+   * @param hedgeDelayNanos  gets the hedging delay, in nanoseconds, for the given member
+   *
+   * @return  a future completed with the page found or {@code null} when not found in any member, or completed
+   *          exceptionally with {@link RejectedExecutionException} when the executor rejects a member lookup.
+   *          Cancelling the future cancels any member lookups still running.
+   */
+  static CompletableFuture<Found> getPage(
+      int len,
+      MemberProbe probe,
+      int routed,
+      Path path,
+      CaptureLevel captureLevel,
+      Executor executor,
+      LookupPolicy policy,
+      IntToLongFunction hedgeDelayNanos
+  ) {
+    return new AsyncLookup(
+        len, probe, routed, path, captureLevel, executor, policy, hedgeDelayNanos
+    ).start();
+  }
+
+  private final int len;
+  private final MemberProbe memberProbe;
+  private final int routed;
+  private final Path path;
+  private final CaptureLevel captureLevel;
+  private final Executor executor;
+  private final LookupPolicy policy;
+  private final IntToLongFunction hedgeDelayNanos;
+
+  private final AtomicReferenceArray<CompletableFuture<Page>> probes;
+  private final AtomicReferenceArray<FutureTask<Void>> tasks;
+
+  private final CompletableFuture<Found> result = new CompletableFuture<>();
+
+  private AsyncLookup(
+      int len,
+      MemberProbe probe,
+      int routed,
+      Path path,
+      CaptureLevel captureLevel,
+      Executor executor,
+      LookupPolicy policy,
+      IntToLongFunction hedgeDelayNanos
+  ) {
+    this.len = len;
+    this.memberProbe = probe;
+    this.routed = routed;
+    this.path = path;
+    this.captureLevel = captureLevel;
+    this.executor = executor;
+    this.policy = policy;
+    this.hedgeDelayNanos = hedgeDelayNanos;
+    this.probes = new AtomicReferenceArray<>(len);
+    this.tasks = new AtomicReferenceArray<>(len);
+  }
+
+  private CompletableFuture<Found> start() {
+    if (routed == -1) {
+      scan();
+    } else {
+      probe(routed).whenComplete((page, t) -> {
+        if (t != null) {
+          result.completeExceptionally(t);
+        } else if (page != null) {
+          result.complete(new Found(routed, page));
+        } else {
+          scan();
+        }
+      });
+    }
+    result.whenComplete((found, t) -> {
+      // Cancel any member lookups still running once the result is determined
+      for (int i = 0; i < len; i++) {
+        FutureTask<Void> task = tasks.get(i);
+        if (task != null) {
+          task.cancel(true);
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Searches the members in-order, other than the routed member.
+   */
+  private void scan() {
+    if (policy == LookupPolicy.PARALLEL) {
+      for (int i = 0; i < len; i++) {
+        if (i != routed) {
+          probe(i);
+        }
+      }
+    }
+    await(0);
+  }
+
+  /**
+   * Gets the lookup for the given member, starting it when not already started.
+   */
+  private CompletableFuture<Page> probe(int member) {
+    CompletableFuture<Page> probe = probes.get(member);
+    if (probe != null) {
+      return probe;
+    }
+    CompletableFuture<Page> newProbe = new CompletableFuture<>();
+    if (!probes.compareAndSet(member, null, newProbe)) {
+      return probes.get(member);
+    }
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      try {
+        newProbe.complete(memberProbe.getPage(member, path, captureLevel));
+      } catch (Throwable t) {
+        newProbe.completeExceptionally(t);
+      }
+    }, null);
+    tasks.set(member, task);
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // Not run on the calling thread, which must never block
+      newProbe.completeExceptionally(e);
+    }
+    return newProbe;
+  }
+
+  /**
+   * Waits for the given member without blocking, then either completes the result or moves on to the next member.
+   */
+  private void await(int member) {
+    if (member == routed) {
+      member++;
+    }
+    if (member >= len) {
+      result.complete(null);
+      return;
+    }
+    int current = member;
+    CompletableFuture<Page> probe = probe(current);
+    if (policy == LookupPolicy.HEDGED) {
+      scheduleHedge(current, probe);
+    }
+    probe.whenComplete((page, t) -> {
+      if (t != null) {
+        result.completeExceptionally(t);
+      } else if (page != null) {
+        result.complete(new Found(current, page));
+      } else {
+        await(current + 1);
+      }
+    });
+  }
+
+  /**
+   * Checks if a member lookup has completed with the page, without waiting.
+   */
+  private static boolean isFound(CompletableFuture<Page> probe) {
+    return probe != null && probe.isDone() && !probe.isCompletedExceptionally() && probe.getNow(null) != null;
+  }
+
+  /**
+   * Starts the next member not yet started each time the given member has not answered within its hedging delay.
+   * Stops once a member already started has found the page, since no later member can win.
+   */
+  private void scheduleHedge(int member, CompletableFuture<Page> probe) {
+    if (probe.isDone()) {
+      return;
+    }
+    CompletableFuture.delayedExecutor(hedgeDelayNanos.applyAsLong(member), TimeUnit.NANOSECONDS).execute(() -> {
+      if (!probe.isDone() && !result.isDone()) {
+        for (int i = member + 1; i < len; i++) {
+          CompletableFuture<Page> started = probes.get(i);
+          if (isFound(started)) {
+            // No later member can win
+            break;
+          }
+          if (i != routed && started == null) {
+            probe(i);
+            scheduleHedge(member, probe);
+            break;
+          }
+        }
+      }
+    });
+  }
+}
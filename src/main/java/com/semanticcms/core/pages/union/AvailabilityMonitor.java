@@ -0,0 +1,257 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.semanticcms.core.pages.PageRepository;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.function.IntToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches the availability of each member, refreshing in the background once expired.
+ */
+final class AvailabilityMonitor {
+
+  private static final Logger logger = Logger.getLogger(AvailabilityMonitor.class.getName());
+
+  /**
+   * A background refresh in progress.
+   */
+  private static final class Refresh {
+    final long startedNanos;
+
+    private Refresh(long startedNanos) {
+      this.startedNanos = startedNanos;
+    }
+  }
+
+  /**
+   * The availability of all members at a moment in time.
+   */
+  static final class Status {
+    final long refreshedNanos;
+    final long refreshedMillis;
+    private final boolean[] available;
+    final boolean allAvailable;
+    final boolean anyAvailable;
+
+    private Status(long refreshedNanos, long refreshedMillis, boolean[] available) {
+      this.refreshedNanos = refreshedNanos;
+      this.refreshedMillis = refreshedMillis;
+      this.available = available;
+      boolean all = true;
+      boolean any = false;
+      for (boolean a : available) {
+        if (a) {
+          any = true;
+        } else {
+          all = false;
+        }
+      }
+      this.allAvailable = all;
+      this.anyAvailable = any;
+    }
+
+    boolean isAvailable(int member) {
+      return available[member];
+    }
+  }
+
+  /**
+   * Probes the availability of every member.
+   */
+  @FunctionalInterface
+  interface Prober {
+    boolean[] probe();
+  }
+
+  private final Prober prober;
+
+  private volatile Status status;
+  private final AtomicReference<Refresh> refreshing = new AtomicReference<>();
+
+  AvailabilityMonitor(Prober prober) {
+    this.prober = prober;
+  }
+
+  /**
+   * Gets the cached status, starting a background refresh on the given executor when expired.
+   * Only the first call, before any status is known, blocks on probing the members.
+   *
+   * <p>A background refresh still running after another time-to-live has passed is considered stuck, such as on a
+   * member whose {@link PageRepository#isAvailable()} hangs without a timeout.  It is logged and abandoned, its
+   * eventual result discarded, and a new refresh is started in its place so the status does not remain stale
+   * forever.</p>
+   */
+  Status getStatus(long ttlNanos, Executor executor) {
+    Status s = status;
+    if (s == null) {
+      return refresh();
+    }
+    long now = System.nanoTime();
+    if (now - s.refreshedNanos >= ttlNanos) {
+      Refresh current = refreshing.get();
+      if (current != null) {
+        if (now - current.startedNanos < ttlNanos) {
+          return s;
+        }
+        logger.log(
+            Level.WARNING,
+            "Availability refresh has not completed in {0} ms, abandoning and starting another",
+            TimeUnit.NANOSECONDS.toMillis(now - current.startedNanos)
+        );
+      }
+      Refresh r = new Refresh(now);
+      if (refreshing.compareAndSet(current, r)) {
+        try {
+          executor.execute(() -> {
+            try {
+              Status refreshed = new Status(System.nanoTime(), System.currentTimeMillis(), prober.probe());
+              // Discarded when abandoned as stuck
+              if (refreshing.get() == r) {
+                status = refreshed;
+              }
+            } finally {
+              refreshing.compareAndSet(r, null);
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          refreshing.compareAndSet(r, null);
+        }
+      }
+    }
+    return s;
+  }
+
+  /**
+   * Gets the last known status without probing.
+   *
+   * @return  the status or {@code null} when never probed
+   */
+  Status getLastStatus() {
+    return status;
+  }
+
+  /**
+   * Probes every member, updating the cached status.
+   */
+  private Status refresh() {
+    Status s = new Status(System.nanoTime(), System.currentTimeMillis(), prober.probe());
+    status = s;
+    return s;
+  }
+
+  /**
+   * Probes the availability of every member.
+   * A member that throws an exception or has not answered within its timeout is considered unavailable.
+   *
+   * @param parallel  probe all members concurrently on the executor
+   * @param executor  the executor for concurrent probes and for probes with a timeout
+   * @param timeoutNanos  gets the time to wait for the given member to answer or {@code 0} to wait indefinitely
+   * @param onTimeout  called with the index of each member that did not answer within its timeout
+   */
+  static boolean[] probe(
+      PageRepository[] repositories,
+      boolean parallel,
+      Executor executor,
+      IntToLongFunction timeoutNanos,
+      IntConsumer onTimeout
+  ) {
+    int len = repositories.length;
+    boolean[] available = new boolean[len];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    FutureTask<Boolean>[] tasks = new FutureTask[len];
+    try {
+      long start = System.nanoTime();
+      if (parallel && len > 1) {
+        for (int i = 0; i < len; i++) {
+          tasks[i] = start(repositories[i], executor);
+        }
+      }
+      for (int i = 0; i < len; i++) {
+        long timeout = timeoutNanos.applyAsLong(i);
+        FutureTask<Boolean> task = tasks[i];
+        if (task == null) {
+          if (timeout == 0) {
+            available[i] = isAvailable(repositories[i]);
+            continue;
+          }
+          start = System.nanoTime();
+          task = tasks[i] = start(repositories[i], executor);
+        }
+        try {
+          available[i] = (timeout == 0)
+              ? task.get()
+              : task.get(start + timeout - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          available[i] = false;
+          onTimeout.accept(i);
+        } catch (ExecutionException e) {
+          available[i] = false;
+        } catch (InterruptedException e) {
+          // Remaining members are reported unavailable
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      return available;
+    } finally {
+      for (FutureTask<Boolean> task : tasks) {
+        if (task != null) {
+          task.cancel(true);
+        }
+      }
+    }
+  }
+
+  private static FutureTask<Boolean> start(PageRepository repository, Executor executor) {
+    FutureTask<Boolean> task = new FutureTask<>(() -> isAvailable(repository));
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+    return task;
+  }
+
+  private static boolean isAvailable(PageRepository repository) {
+    try {
+      return repository.isAvailable();
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  void clear() {
+    status = null;
+  }
+}
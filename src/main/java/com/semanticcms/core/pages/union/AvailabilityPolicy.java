@@ -0,0 +1,47 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+/**
+ * How the availability of a {@link UnionPageRepository} depends on the availability of its members.
+ */
+public enum AvailabilityPolicy {
+
+  /**
+   * The union is available only when all members are available.
+   * Every member is searched by lookups regardless of availability.
+   * This is the default.
+   */
+  ALL,
+
+  /**
+   * The union is available when any member is available, and is
+   * {@linkplain UnionPageRepository#isDegraded() degraded} while any member is unavailable.
+   *
+   * <p>When {@linkplain UnionPageRepository#setAvailabilityTtl(java.time.Duration) availability is cached}, lookups
+   * skip the members last known to be unavailable, treating them as not having the page.  This keeps serving the
+   * pages of the other members during a member outage without waiting on the unavailable member.</p>
+   */
+  PARTIAL
+}
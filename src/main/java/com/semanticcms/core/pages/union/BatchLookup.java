@@ -0,0 +1,194 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Resolves many paths at once, walking the members once per batch.
+ */
+final class BatchLookup {
+
+  /** Make no instances. */
+  private BatchLookup() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Resolves many paths, walking the members in-order once and passing only the paths still unresolved on to each
+   * following member.  Routed paths are first looked-up in their routed member, and only passed on to the walk when
+   * not found there.
+   *
+   * @param paths  the distinct paths to resolve
+   * @param routed  the member to search first for each path, in the same order as {@code paths}, or {@code -1} for
+   *                none, or {@code null} when no path is routed
+   * @param executor  when non-null, the paths passed to each member are looked-up concurrently on this executor.
+   *                  Lookups rejected by the executor are performed on the calling thread.
+   * @param parallelism  the maximum number of paths looked-up concurrently in each member when using the executor
+   *
+   * @return  the page found for each path, in the same order as {@code paths}, with {@code null} for each path not
+   *          found in any member
+   */
+  static Found[] getPages(
+      int len,
+      MemberProbe probe,
+      List<Path> paths,
+      int[] routed,
+      CaptureLevel captureLevel,
+      Executor executor,
+      int parallelism
+  ) throws IOException {
+    int size = paths.size();
+    Found[] results = new Found[size];
+    // Indexes into paths that are not yet found
+    List<Integer> unresolved = new ArrayList<>(size);
+    if (routed == null) {
+      for (int i = 0; i < size; i++) {
+        unresolved.add(i);
+      }
+    } else {
+      List<Integer> routedIndexes = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        if (routed[i] != -1) {
+          routedIndexes.add(i);
+        }
+      }
+      Page[] pages = probe(probe, paths, routedIndexes, index -> routed[index], captureLevel, executor, parallelism);
+      for (int i = 0; i < pages.length; i++) {
+        Page page = pages[i];
+        if (page != null) {
+          int index = routedIndexes.get(i);
+          results[index] = new Found(routed[index], page);
+        }
+      }
+      for (int i = 0; i < size; i++) {
+        if (results[i] == null) {
+          unresolved.add(i);
+        }
+      }
+    }
+    for (int member = 0; member < len && !unresolved.isEmpty(); member++) {
+      int current = member;
+      List<Integer> stillUnresolved = new ArrayList<>(unresolved.size());
+      // Routed paths have already been looked-up in their routed member
+      List<Integer> search;
+      if (routed == null) {
+        search = unresolved;
+      } else {
+        search = new ArrayList<>(unresolved.size());
+        for (Integer index : unresolved) {
+          if (routed[index] == current) {
+            stillUnresolved.add(index);
+          } else {
+            search.add(index);
+          }
+        }
+      }
+      Page[] pages = probe(probe, paths, search, index -> current, captureLevel, executor, parallelism);
+      for (int i = 0; i < pages.length; i++) {
+        Integer index = search.get(i);
+        Page page = pages[i];
+        if (page != null) {
+          results[index] = new Found(member, page);
+        } else {
+          stillUnresolved.add(index);
+        }
+      }
+      unresolved = stillUnresolved;
+    }
+    return results;
+  }
+
+  /**
+   * Looks up each of the given paths in a member, either one at a time on the calling thread or concurrently on the
+   * executor.
+   *
+   * @param indexes  the indexes into {@code paths} to look up
+   * @param member  gets the member to search for the given index into {@code paths}
+   *
+   * @return  the page found for each index, in the same order as {@code indexes}
+   */
+  private static Page[] probe(
+      MemberProbe probe,
+      List<Path> paths,
+      List<Integer> indexes,
+      IntUnaryOperator member,
+      CaptureLevel captureLevel,
+      Executor executor,
+      int parallelism
+  ) throws IOException {
+    int count = indexes.size();
+    Page[] pages = new Page[count];
+    if (executor == null || count <= 1) {
+      for (int i = 0; i < count; i++) {
+        int index = indexes.get(i);
+        pages[i] = probe.getPage(member.applyAsInt(index), paths.get(index), captureLevel);
+      }
+      return pages;
+    }
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    FutureTask<Page>[] tasks = new FutureTask[count];
+    // The next lookup to start, keeping at most parallelism lookups started but not yet awaited
+    int next = 0;
+    try {
+      for (int i = 0; i < count; i++) {
+        for (; next < count && next - i < parallelism; next++) {
+          int index = indexes.get(next);
+          int m = member.applyAsInt(index);
+          Path path = paths.get(index);
+          FutureTask<Page> task = new FutureTask<>(() -> probe.getPage(m, path, captureLevel));
+          try {
+            executor.execute(task);
+            tasks[next] = task;
+          } catch (RejectedExecutionException e) {
+            // Looked-up on the calling thread when reached
+          }
+        }
+        FutureTask<Page> task = tasks[i];
+        if (task == null) {
+          int index = indexes.get(i);
+          pages[i] = probe.getPage(member.applyAsInt(index), paths.get(index), captureLevel);
+        } else {
+          pages[i] = Futures.await(task);
+        }
+      }
+    } finally {
+      for (FutureTask<Page> task : tasks) {
+        if (task != null) {
+          task.cancel(true);
+        }
+      }
+    }
+    return pages;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of concurrent lookups in a single member.
+ *
+ * <p>The limit is fixed for the life of the instance.  A new instance is created when the limit changes, and lookups
+ * already in-flight release their permit back to the instance they acquired it from.</p>
+ */
+final class Bulkhead {
+
+  final int limit;
+  private final Semaphore permits;
+
+  Bulkhead(int limit) {
+    assert limit > 0;
+    this.limit = limit;
+    this.permits = new Semaphore(limit);
+  }
+
+  /**
+   * Acquires a permit only when one is available right away.
+   */
+  boolean tryAcquire() {
+    return permits.tryAcquire();
+  }
+
+  /**
+   * Acquires a permit, waiting up to the given timeout for one to become available.
+   *
+   * @param timeoutNanos  the time to wait or {@code 0} to wait indefinitely
+   */
+  boolean tryAcquire(long timeoutNanos) throws IOException {
+    try {
+      if (timeoutNanos == 0) {
+        permits.acquire();
+        return true;
+      }
+      return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      throw Futures.interrupted(e);
+    }
+  }
+
+  void release() {
+    permits.release();
+  }
+}
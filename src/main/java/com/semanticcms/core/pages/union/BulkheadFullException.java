@@ -0,0 +1,60 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a member of a {@link UnionPageRepository} already has as many concurrent lookups as its
+ * {@linkplain UnionPageRepository#setBulkheadLimit(int, int) bulkhead limit} under {@link BulkheadPolicy#WAIT} or
+ * {@link BulkheadPolicy#FAIL}.
+ */
+public class BulkheadFullException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int member;
+  private final int limit;
+
+  public BulkheadFullException(String message, int member, int limit) {
+    super(message);
+    this.member = member;
+    this.limit = limit;
+  }
+
+  /**
+   * Gets the index of the member that was full, in the same order as {@link UnionPageRepository#getRepositories()}.
+   */
+  public int getMember() {
+    return member;
+  }
+
+  /**
+   * Gets the limit of concurrent lookups in the member.
+   */
+  public int getLimit() {
+    return limit;
+  }
+}
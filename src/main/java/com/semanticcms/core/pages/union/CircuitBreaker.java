@@ -0,0 +1,92 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A circuit breaker around a single member, opened after consecutive failures and probed periodically while open.
+ */
+final class CircuitBreaker {
+
+  private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private volatile long openedNanos;
+
+  CircuitState getState() {
+    return state.get();
+  }
+
+  /**
+   * Checks if a lookup may call the member.  Once open for at least {@code openNanos}, allows a single trial lookup
+   * through in the half-open state.
+   */
+  boolean allowRequest(long nowNanos, long openNanos) {
+    CircuitState s = state.get();
+    if (s == CircuitState.CLOSED) {
+      return true;
+    }
+    return
+        s == CircuitState.OPEN
+            && nowNanos - openedNanos >= openNanos
+            && state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN);
+  }
+
+  /**
+   * Records a successful lookup, closing the circuit.
+   */
+  void onSuccess() {
+    consecutiveFailures.set(0);
+    if (state.get() != CircuitState.CLOSED) {
+      state.set(CircuitState.CLOSED);
+    }
+  }
+
+  /**
+   * Records a failed lookup, opening the circuit after {@code failureThreshold} consecutive failures or when the
+   * half-open trial fails.
+   */
+  void onFailure(long nowNanos, int failureThreshold) {
+    int failures = consecutiveFailures.incrementAndGet();
+    CircuitState s = state.get();
+    if (s == CircuitState.HALF_OPEN || (s == CircuitState.CLOSED && failures >= failureThreshold)) {
+      openedNanos = nowNanos;
+      state.set(CircuitState.OPEN);
+    }
+  }
+
+  /**
+   * Records a lookup that was cancelled before its outcome was known.  A cancelled half-open trial re-opens the
+   * circuit without resetting its open time, so another trial is allowed through right away.
+   */
+  void onCancelled() {
+    state.compareAndSet(CircuitState.HALF_OPEN, CircuitState.OPEN);
+  }
+
+  void reset() {
+    consecutiveFailures.set(0);
+    state.set(CircuitState.CLOSED);
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+/**
+ * The state of the circuit breaker around a member of a {@link UnionPageRepository}.
+ *
+ * @see  UnionPageRepository#setCircuitFailureThreshold(int)
+ */
+public enum CircuitState {
+
+  /**
+   * The member is searched normally.
+   */
+  CLOSED,
+
+  /**
+   * The member has failed repeatedly and is skipped, as if it does not have the page.
+   */
+  OPEN,
+
+  /**
+   * The member was open long enough and a single trial lookup is allowed through.
+   * The circuit closes when the trial succeeds and opens again when it fails.
+   */
+  HALF_OPEN
+}
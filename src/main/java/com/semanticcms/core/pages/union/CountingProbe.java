@@ -0,0 +1,71 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the members called by a single lookup and tracks which member provided the page.
+ * Safe for use by the concurrent lookup engines.
+ */
+final class CountingProbe implements MemberProbe {
+
+  private final MemberProbe probe;
+  private final AtomicInteger probed = new AtomicInteger();
+  private final AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+
+  CountingProbe(MemberProbe probe) {
+    this.probe = probe;
+  }
+
+  @Override
+  public Page getPage(int member, Path path, CaptureLevel captureLevel) throws IOException {
+    probed.incrementAndGet();
+    Page page = probe.getPage(member, path, captureLevel);
+    if (page != null) {
+      found.accumulateAndGet(member, Math::min);
+    }
+    return page;
+  }
+
+  int getProbed() {
+    return probed.get();
+  }
+
+  /**
+   * Gets the member that provided the page.  Under first-in-order-wins, this is the lowest member that found the
+   * page, since a routed member that finds the page is the only member called.
+   *
+   * @return  the index of the member or {@code -1} when not found
+   */
+  int getFound() {
+    int member = found.get();
+    return (member == Integer.MAX_VALUE) ? -1 : member;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The deadline of a single lookup, converted once from wall-clock time to {@link System#nanoTime()} so the remaining
+ * budget is immune to clock adjustments while the lookup is in progress.
+ */
+final class Deadline {
+
+  private final Instant instant;
+  private final long nanos;
+
+  Deadline(Instant instant) {
+    this.instant = instant;
+    long now = System.nanoTime();
+    long remaining;
+    try {
+      remaining = Duration.between(Instant.now(), instant).toNanos();
+    } catch (ArithmeticException e) {
+      remaining = instant.isBefore(Instant.EPOCH) ? 0 : Long.MAX_VALUE / 2;
+    }
+    // Clamped so now + remaining cannot overflow
+    this.nanos = now + Math.max(0, Math.min(remaining, Long.MAX_VALUE / 2));
+  }
+
+  /**
+   * Gets the time remaining before the deadline, in nanoseconds.
+   *
+   * @return  the remaining time or zero or less once passed
+   */
+  long remainingNanos() {
+    return nanos - System.nanoTime();
+  }
+
+  /**
+   * Creates the exception thrown once the deadline has passed.
+   */
+  DeadlineExceededException exceeded(Path path) {
+    return new DeadlineExceededException("Deadline " + instant + " passed looking up " + path, instant);
+  }
+
+  /**
+   * Waits for a future no later than the deadline, unwrapping its exception.
+   * The future is not cancelled when the deadline passes.
+   */
+  <V> V await(Future<V> future, Path path) throws IOException {
+    long remaining = remainingNanos();
+    if (remaining <= 0 && !future.isDone()) {
+      throw exceeded(path);
+    }
+    try {
+      return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      throw Futures.interrupted(e);
+    } catch (ExecutionException e) {
+      throw Futures.unwrap(e);
+    } catch (TimeoutException e) {
+      throw exceeded(path);
+    }
+  }
+}
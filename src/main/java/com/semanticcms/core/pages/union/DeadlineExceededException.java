@@ -0,0 +1,52 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Thrown when a lookup with a deadline, such as {@link UnionPageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel, java.time.Instant)},
+ * is abandoned because its deadline passed before the search of the members completed.
+ * This is distinct from the page not existing, which is {@code null}.
+ */
+public class DeadlineExceededException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Instant deadline;
+
+  public DeadlineExceededException(String message, Instant deadline) {
+    super(message);
+    this.deadline = deadline;
+  }
+
+  /**
+   * Gets the deadline that passed.
+   */
+  public Instant getDeadline() {
+    return deadline;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor used for concurrent member lookups when none has been provided.
+ *
+ * <p>This is a pool of daemon platform threads, created as needed up to {@link #MAX_THREADS}.  Once all threads are
+ * busy, such as when a stalled member holds threads past their timeouts, tasks are rejected rather than queued, and
+ * the member lookups are performed on the calling thread instead.  On Java 21 and newer, a variant in the
+ * multi-release JAR uses virtual threads instead.</p>
+ */
+final class DefaultExecutor {
+
+  /** Make no instances. */
+  private DefaultExecutor() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The maximum number of threads in the pool.
+   */
+  static final int MAX_THREADS = Math.max(32, Runtime.getRuntime().availableProcessors() * 8);
+
+  /**
+   * The number of seconds an idle thread is kept.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static class Holder {
+    private static final AtomicInteger threadNum = new AtomicInteger();
+
+    private static final ThreadFactory threadFactory = r -> {
+      Thread thread = new Thread(r, UnionPageRepository.class.getName() + ".executor-" + threadNum.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+
+    private static final ExecutorService executor = new ThreadPoolExecutor(
+        0,
+        MAX_THREADS,
+        KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        threadFactory,
+        new ThreadPoolExecutor.AbortPolicy()
+    );
+  }
+
+  /**
+   * Gets the shared default executor, created on first use.
+   */
+  static Executor get() {
+    return Holder.executor;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import jdk.jfr.EventType;
+
+/**
+ * Checks whether the Java Flight Recorder events are enabled, so lookups only allocate events being recorded.
+ *
+ * <p>The {@code jdk.jfr} module is optional.  When it is not in the runtime, such as a jlinked image without it, or
+ * not readable by this module, no event is ever enabled and the event classes are never loaded.</p>
+ */
+final class Events {
+
+  /** Make no instances. */
+  private Events() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Is the {@code jdk.jfr} module present and readable?
+   */
+  private static final boolean available = ModuleLayer.boot().findModule("jdk.jfr")
+      .map(Events.class.getModule()::canRead)
+      .orElse(false);
+
+  /**
+   * Only initialized when {@code jdk.jfr} is available.
+   */
+  private static final class Types {
+
+    /** Make no instances. */
+    private Types() {
+      throw new AssertionError();
+    }
+
+    private static final EventType lookup = EventType.getEventType(LookupEvent.class);
+
+    private static final EventType memberProbe = EventType.getEventType(MemberProbeEvent.class);
+  }
+
+  /**
+   * Is {@link LookupEvent} enabled in any running recording?
+   */
+  static boolean isLookupEnabled() {
+    return available && Types.lookup.isEnabled();
+  }
+
+  /**
+   * Is {@link MemberProbeEvent} enabled in any running recording?
+   */
+  static boolean isMemberProbeEnabled() {
+    return available && Types.memberProbe.isEnabled();
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * A concurrent cache whose entries expire after a time-to-live, bounded by entry count.
+ *
+ * <p>When full, the oldest entries are evicted first.  The queue tracking insertion order is compacted once it holds
+ * more than twice the maximum number of entries, so replaced entries cannot accumulate behind a live entry at its
+ * head.</p>
+ */
+final class ExpiringCache<K, V> {
+
+  private static final class Entry<K, V> {
+    private final K key;
+    private final V value;
+    private final long expiresNanos;
+
+    private Entry(K key, V value, long expiresNanos) {
+      this.key = key;
+      this.value = value;
+      this.expiresNanos = expiresNanos;
+    }
+
+    private boolean isExpired(long nowNanos) {
+      return nowNanos - expiresNanos >= 0;
+    }
+  }
+
+  private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Insertion order for eviction.  May contain entries already removed from {@link #entries}.
+   */
+  private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The approximate size of {@link #insertionOrder}, which is costly to count.  Made exact on each compaction.
+   */
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final AtomicBoolean compacting = new AtomicBoolean();
+
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Gets the unexpired value for the given key.
+   *
+   * @return  the value or {@code null} when not cached or expired
+   */
+  V get(K key, long nowNanos) {
+    Entry<K, V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired(nowNanos)) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Caches a value, evicting the oldest entries when more than {@code maxEntries} are cached.
+   */
+  void put(K key, V value, long nowNanos, long ttlNanos, int maxEntries) {
+    put(key, value, nowNanos, ttlNanos, maxEntries, null);
+  }
+
+  /**
+   * Caches a value, evicting the oldest entries when more than {@code maxEntries} are cached.
+   *
+   * @param replace  when non-null, decides whether an unexpired value is replaced by the new value
+   */
+  void put(K key, V value, long nowNanos, long ttlNanos, int maxEntries, BiPredicate<? super V, ? super V> replace) {
+    Entry<K, V> entry = new Entry<>(key, value, nowNanos + ttlNanos);
+    if (replace == null) {
+      entries.put(key, entry);
+    } else if (
+        entries.compute(
+            key,
+            (k, existing) -> (existing == null || existing.isExpired(nowNanos) || replace.test(existing.value, value))
+                ? entry
+                : existing
+        ) != entry
+    ) {
+      return;
+    }
+    insertionOrder.add(entry);
+    int size = queued.incrementAndGet();
+    while (entries.size() > maxEntries) {
+      Entry<K, V> oldest = insertionOrder.poll();
+      if (oldest == null) {
+        break;
+      }
+      size = queued.decrementAndGet();
+      if (entries.remove(oldest.key, oldest)) {
+        evictions.increment();
+      }
+    }
+    // Discard queued entries that have been replaced or expired
+    Entry<K, V> head;
+    while (
+        (head = insertionOrder.peek()) != null
+            && (entries.get(head.key) != head || head.isExpired(nowNanos))
+    ) {
+      if (insertionOrder.remove(head)) {
+        size = queued.decrementAndGet();
+        entries.remove(head.key, head);
+      }
+    }
+    if (size > 2L * maxEntries) {
+      compact(nowNanos);
+    }
+  }
+
+  /**
+   * Removes replaced and expired entries from anywhere in the insertion order.  Only one thread compacts at a time,
+   * others skip it.  Runs once at least {@code maxEntries} stale entries are queued, so its cost is amortized over the
+   * puts that queued them.
+   */
+  private void compact(long nowNanos) {
+    if (compacting.compareAndSet(false, true)) {
+      try {
+        int count = 0;
+        for (Iterator<Entry<K, V>> iter = insertionOrder.iterator(); iter.hasNext(); ) {
+          Entry<K, V> queuedEntry = iter.next();
+          if (entries.get(queuedEntry.key) != queuedEntry) {
+            iter.remove();
+          } else if (queuedEntry.isExpired(nowNanos)) {
+            iter.remove();
+            entries.remove(queuedEntry.key, queuedEntry);
+          } else {
+            count++;
+          }
+        }
+        queued.set(count);
+      } finally {
+        compacting.set(false);
+      }
+    }
+  }
+
+  void remove(K key) {
+    entries.remove(key);
+  }
+
+  void clear() {
+    entries.clear();
+    insertionOrder.clear();
+    queued.set(0);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  long getEvictions() {
+    return evictions.sum();
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Searches members in-order, starting later members early when the member being waited on is slow to answer, while
+ * preserving first-in-order-wins semantics.
+ *
+ * @see  LookupPolicy#HEDGED
+ */
+final class HedgedLookup {
+
+  /** Make no instances. */
+  private HedgedLookup() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Searches members in-order, starting the next member each time the member being waited on has not answered within
+   * its hedging delay.  No further members are started once a member already started has found the page, since no
+   * later member can win.  Any member lookups still running once the result is determined are cancelled.
+   *
+   * @param skip  the index of a member to not search or {@code -1} to search all
+   * @param hedgeDelayNanos  gets the hedging delay, in nanoseconds, for the given member
+   *
+   * @return  the page found or {@code null} when not found in any member
+   */
+  static Found getPage(
+      int len,
+      MemberProbe probe,
+      int skip,
+      Path path,
+      CaptureLevel captureLevel,
+      Executor executor,
+      IntToLongFunction hedgeDelayNanos
+  ) throws IOException {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    FutureTask<Page>[] tasks = new FutureTask[len];
+    // The next member to be started
+    int next = 0;
+    // The lowest member known to have found the page, beyond which no member can win and none are started
+    int found = len;
+    try {
+      for (int i = 0; i < len; i++) {
+        if (i == skip) {
+          continue;
+        }
+        if (next <= i) {
+          start(probe, i, path, captureLevel, executor, tasks);
+          next = i + 1;
+        }
+        FutureTask<Page> task = tasks[i];
+        Page page;
+        if (task == null) {
+          // Rejected by executor
+          page = probe.getPage(i, path, captureLevel);
+        } else {
+          while (true) {
+            if (next == skip) {
+              next++;
+            }
+            if (next >= found) {
+              page = Futures.await(task);
+              break;
+            }
+            try {
+              page = task.get(hedgeDelayNanos.applyAsLong(i), TimeUnit.NANOSECONDS);
+              break;
+            } catch (TimeoutException e) {
+              found = getFound(tasks, i + 1, next, found);
+              if (next < found) {
+                start(probe, next, path, captureLevel, executor, tasks);
+                next++;
+              }
+            } catch (InterruptedException e) {
+              throw Futures.interrupted(e);
+            } catch (ExecutionException e) {
+              throw Futures.unwrap(e);
+            }
+          }
+        }
+        if (page != null) {
+          return new Found(i, page);
+        }
+      }
+      return null;
+    } finally {
+      for (FutureTask<Page> task : tasks) {
+        if (task != null) {
+          task.cancel(true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds the lowest of the given members already started that has completed with the page, without waiting.
+   *
+   * @param from  the first member to check, inclusive
+   * @param to  the last member to check, exclusive
+   *
+   * @return  the member or {@code found} when none
+   */
+  private static int getFound(FutureTask<Page>[] tasks, int from, int to, int found) {
+    for (int i = from; i < to && i < found; i++) {
+      FutureTask<Page> task = tasks[i];
+      if (task != null && task.isDone() && !task.isCancelled()) {
+        try {
+          if (task.get() != null) {
+            return i;
+          }
+        } catch (InterruptedException e) {
+          // Not reached, since already done
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          // Failed, its exception is thrown when reached
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Starts the lookup for the given member.  When rejected by the executor, leaves the task {@code null} so the
+   * member will be searched on the calling thread.
+   */
+  private static void start(
+      MemberProbe probe,
+      int member,
+      Path path,
+      CaptureLevel captureLevel,
+      Executor executor,
+      FutureTask<Page>[] tasks
+  ) {
+    FutureTask<Page> task = new FutureTask<>(() -> probe.getPage(member, path, captureLevel));
+    try {
+      executor.execute(task);
+      tasks[member] = task;
+    } catch (RejectedExecutionException e) {
+      // Searched on the calling thread when reached
+    }
+  }
+}
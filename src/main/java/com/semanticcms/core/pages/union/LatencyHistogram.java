@@ -0,0 +1,76 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in power-of-two microsecond buckets.
+ * Each bucket is a {@link LongAdder}, so concurrent lookups of similar latency do not contend on a single counter.
+ */
+final class LatencyHistogram {
+
+  /**
+   * The number of buckets.  Bucket {@code 0} counts latencies under one microsecond, bucket {@code i} counts latencies
+   * of at least <code>2<sup>i-1</sup></code> and under <code>2<sup>i</sup></code> microseconds, and the last bucket
+   * counts everything longer.
+   */
+  static final int BUCKETS = 24;
+
+  /**
+   * Gets the upper bound of each bucket, exclusive, in microseconds.  The last bucket is unbounded and reported as
+   * {@link Long#MAX_VALUE}.
+   */
+  static long[] getBucketLimitsMicros() {
+    long[] limits = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS - 1; i++) {
+      limits[i] = 1L << i;
+    }
+    limits[BUCKETS - 1] = Long.MAX_VALUE;
+    return limits;
+  }
+
+  private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+  LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  void record(long nanos) {
+    long micros = nanos / 1000;
+    int bucket = (micros <= 0) ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    counts[bucket].increment();
+  }
+
+  long[] getCounts() {
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts[i].sum();
+    }
+    return snapshot;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the recent latencies of a member, for percentile-derived hedging delays.
+ *
+ * <p>Samples are recorded into a fixed-size ring without locking.  Percentiles are recomputed only periodically, so
+ * reading a percentile is usually just a volatile read.</p>
+ */
+final class LatencyTracker {
+
+  private static final int SAMPLES = 128;
+
+  /**
+   * Recompute the percentile after this many new samples.
+   */
+  private static final int RECOMPUTE_INTERVAL = 32;
+
+  private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+  private final AtomicInteger count = new AtomicInteger();
+
+  private volatile double cachedPercentile = Double.NaN;
+  private volatile long cachedNanos = -1;
+  private volatile int cachedAtCount = -1;
+
+  void record(long nanos) {
+    int c = count.getAndIncrement();
+    samples.set(Math.floorMod(c, SAMPLES), nanos);
+  }
+
+  /**
+   * Gets the given percentile of recent latencies.
+   *
+   * @param percentile  between {@code 0.0} and {@code 1.0}
+   *
+   * @return  the latency in nanoseconds or {@code -1} when too few samples have been recorded
+   */
+  long getPercentile(double percentile) {
+    int c = count.get();
+    if (c >= 0 && c < SAMPLES) {
+      return -1;
+    }
+    int at = cachedAtCount;
+    if (
+        at != -1
+            && cachedPercentile == percentile
+            && (c - at) >= 0 && (c - at) < RECOMPUTE_INTERVAL
+    ) {
+      return cachedNanos;
+    }
+    long[] sorted = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      sorted[i] = samples.get(i);
+    }
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile * SAMPLES) - 1;
+    long nanos = sorted[Math.max(0, Math.min(SAMPLES - 1, index))];
+    // Benign race: concurrent recomputations produce equivalent values
+    cachedNanos = nanos;
+    cachedPercentile = percentile;
+    cachedAtCount = c;
+    return nanos;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * The state of a single lookup shared by the probes of its members, which may run concurrently.
+ *
+ * <p>Tracks the members that were not actually searched: those skipped as unavailable or with an open circuit, those
+ * turned away by a full bulkhead, and those treated as not having the page after timing out.  A result depending on
+ * any of these members is not cached, since it might have been different had they answered.</p>
+ *
+ * <p>A lookup without a deadline or listeners, while no policy that leaves members unsearched is enabled, shares
+ * {@link #UNTRACKED} instead of allocating its own context.</p>
+ */
+final class LookupContext {
+
+  private static final LookupListener[] NO_LISTENERS = new LookupListener[0];
+
+  /**
+   * The context shared by lookups without a deadline or listeners, which does not track unsearched members and
+   * considers every result conclusive.
+   */
+  static final LookupContext UNTRACKED = new LookupContext(null, NO_LISTENERS, false);
+
+  private static final AtomicIntegerFieldUpdater<LookupContext> firstUnsearchedUpdater =
+      AtomicIntegerFieldUpdater.newUpdater(LookupContext.class, "firstUnsearched");
+
+  /**
+   * The deadline of the lookup or {@code null} for none.
+   */
+  final Deadline deadline;
+
+  /**
+   * The listeners to notify of each probe.
+   */
+  final LookupListener[] listeners;
+
+  private final boolean tracked;
+
+  private volatile int firstUnsearched = Integer.MAX_VALUE;
+
+  private LookupContext(Deadline deadline, LookupListener[] listeners, boolean tracked) {
+    this.deadline = deadline;
+    this.listeners = listeners;
+    this.tracked = tracked;
+  }
+
+  LookupContext(Deadline deadline, LookupListener[] listeners) {
+    this(deadline, listeners, true);
+  }
+
+  /**
+   * Records a member as treated as not having the page without having been searched.
+   */
+  void unsearched(int member) {
+    if (tracked) {
+      firstUnsearchedUpdater.accumulateAndGet(this, member, Math::min);
+    }
+  }
+
+  /**
+   * Checks whether a result is conclusive: under first-in-order-wins, every member before the one that provided the
+   * page must have been searched, or every member when the page was not found.
+   *
+   * @param found  the index of the member that provided the page or {@code -1} when not found
+   */
+  boolean isConclusive(int found) {
+    int first = firstUnsearched;
+    return (found == -1) ? (first == Integer.MAX_VALUE) : (first > found);
+  }
+}
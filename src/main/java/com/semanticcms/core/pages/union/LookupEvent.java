@@ -0,0 +1,63 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for each {@link UnionPageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}.
+ * Only lookups taking at least the threshold are recorded, which may be changed in the recording settings.
+ */
+@Name(LookupEvent.NAME)
+@Label("Union Lookup")
+@Description("A page lookup in a union of SemanticCMS page repositories")
+@Category({"SemanticCMS", "Pages"})
+@Threshold("20 ms")
+@StackTrace(false)
+final class LookupEvent extends Event {
+
+  static final String NAME = "com.semanticcms.core.pages.union.Lookup";
+
+  @Label("Path")
+  String path;
+
+  @Label("Capture Level")
+  String captureLevel;
+
+  @Label("Member")
+  @Description("The index of the member that provided the page or -1 when not found or not searched")
+  int member;
+
+  @Label("Members Probed")
+  @Description("The number of members consulted by this lookup, including members skipped by policy, and zero when answered"
+      + " by a cache or a shared search")
+  int membersProbed;
+}
@@ -0,0 +1,82 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.pages.CaptureLevel;
+
+/**
+ * Receives notifications of lookups in a {@link UnionPageRepository}, such as for tracing or metrics.
+ *
+ * <p>Listeners are called on the threads performing the lookups, which under {@link LookupPolicy#PARALLEL} and
+ * {@link LookupPolicy#HEDGED} includes the threads of the {@linkplain UnionPageRepository#setExecutor(java.util.concurrent.Executor) executor}.
+ * They must be thread-safe and return quickly.  An exception thrown by a listener is logged and otherwise ignored,
+ * never affecting the lookup or the other listeners.</p>
+ *
+ * @see  UnionPageRepository#addLookupListener(com.semanticcms.core.pages.union.LookupListener)
+ */
+public interface LookupListener {
+
+  /**
+   * Called before calling a member.  Not called for members that are {@linkplain ProbeOutcome#SKIPPED skipped}.
+   *
+   * @param member  the index of the member, in the same order as {@link UnionPageRepository#getRepositories()}
+   */
+  default void beforeProbe(int member, Path path, CaptureLevel captureLevel) {
+    // Do nothing by default
+  }
+
+  /**
+   * Called after consulting a member, including members skipped without being called.
+   *
+   * @param member  the index of the member, in the same order as {@link UnionPageRepository#getRepositories()}
+   * @param nanos  the time spent calling the member, or {@code 0} when not called
+   */
+  default void afterProbe(int member, Path path, CaptureLevel captureLevel, ProbeOutcome outcome, long nanos) {
+    // Do nothing by default
+  }
+
+  /**
+   * Called once a lookup by {@link UnionPageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}
+   * or {@link UnionPageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel, java.time.Instant)}
+   * completes.
+   *
+   * @param found  whether the page was found
+   * @param member  the index of the member that provided the page or {@code -1} when not found or provided by a cache
+   *                or a shared search
+   * @param error  the exception thrown by the lookup or {@code null} when completed normally
+   * @param nanos  the duration of the lookup
+   */
+  default void onLookupComplete(
+      Path path,
+      CaptureLevel captureLevel,
+      boolean found,
+      int member,
+      Throwable error,
+      long nanos
+  ) {
+    // Do nothing by default
+  }
+}
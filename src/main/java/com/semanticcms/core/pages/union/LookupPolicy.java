@@ -0,0 +1,56 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+/**
+ * How a {@link UnionPageRepository} searches its members.
+ * Regardless of policy, the page from the lowest-index member that has the page is returned.
+ */
+public enum LookupPolicy {
+
+  /**
+   * Searches members one at a time, in-order, on the calling thread.
+   * This is the default.
+   */
+  SEQUENTIAL,
+
+  /**
+   * Searches all members concurrently, returning once every member before the winning member has reported a miss.
+   * Members after the winning member are cancelled.
+   *
+   * <p>The latency of a miss is that of the slowest member instead of the sum of all members, at the cost of calling
+   * every member on every lookup.</p>
+   */
+  PARALLEL,
+
+  /**
+   * Searches members in-order, but starts the next member early when the member being waited on has not answered
+   * within the {@linkplain UnionPageRepository#setHedgeDelay(java.time.Duration) hedging delay}.
+   * Members after the winning member are cancelled.
+   *
+   * <p>This bounds the latency added by an occasional stalled member, while calling later members only when an
+   * earlier member is slow.</p>
+   */
+  HEDGED
+}
@@ -0,0 +1,254 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.collections.AoCollections;
+import com.aoapps.net.Path;
+import com.semanticcms.core.pages.CaptureLevel;
+import com.semanticcms.core.pages.PageRepository;
+import java.util.List;
+
+/**
+ * The trace of a single lookup, as returned by
+ * {@link UnionPageRepository#explain(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}.
+ */
+public final class LookupTrace {
+
+  /**
+   * What answered the lookup without a full search of the members.
+   */
+  public enum ShortCircuit {
+
+    /**
+     * The members were searched in-order.
+     */
+    NONE,
+
+    /**
+     * The page was found in the {@linkplain UnionPageRepository#setPageCacheTtl(java.time.Duration) page cache}
+     * without consulting any member.
+     */
+    PAGE_CACHE,
+
+    /**
+     * The page was recently not found in any member, according to the
+     * {@linkplain UnionPageRepository#setNegativeCacheTtl(java.time.Duration) negative cache}, and no member was
+     * consulted.
+     */
+    NEGATIVE_CACHE,
+
+    /**
+     * The page was found in the member given by the
+     * {@linkplain UnionPageRepository#setRoutingTtl(java.time.Duration) routing index}, without consulting any other
+     * member.
+     */
+    ROUTING_INDEX
+  }
+
+  /**
+   * A single member consulted by the lookup.
+   */
+  public static final class Probe {
+
+    private final int member;
+    private final PageRepository repository;
+    private final ProbeOutcome outcome;
+    private final long startNanos;
+    private final long nanos;
+
+    Probe(int member, PageRepository repository, ProbeOutcome outcome, long startNanos, long nanos) {
+      this.member = member;
+      this.repository = repository;
+      this.outcome = outcome;
+      this.startNanos = startNanos;
+      this.nanos = nanos;
+    }
+
+    @Override
+    public String toString() {
+      return "member " + member + " (" + repository + "): " + outcome
+          + " at +" + formatMillis(startNanos) + " for " + formatMillis(nanos);
+    }
+
+    /**
+     * Gets the index of the member, in the same order as {@link UnionPageRepository#getRepositories()}.
+     */
+    public int getMember() {
+      return member;
+    }
+
+    public PageRepository getRepository() {
+      return repository;
+    }
+
+    public ProbeOutcome getOutcome() {
+      return outcome;
+    }
+
+    /**
+     * Gets when the member was called, in nanoseconds since the start of the lookup.
+     */
+    public long getStartNanos() {
+      return startNanos;
+    }
+
+    /**
+     * Gets the time spent calling the member, or {@code 0} when {@linkplain ProbeOutcome#SKIPPED skipped}.
+     */
+    public long getNanos() {
+      return nanos;
+    }
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format("%.3f ms", nanos / 1000000.0);
+  }
+
+  private final Path path;
+  private final CaptureLevel captureLevel;
+  private final ShortCircuit shortCircuit;
+  private final int routedMember;
+  private final List<Probe> probes;
+  private final boolean found;
+  private final int member;
+  private final Throwable error;
+  private final long nanos;
+
+  LookupTrace(
+      Path path,
+      CaptureLevel captureLevel,
+      ShortCircuit shortCircuit,
+      int routedMember,
+      List<Probe> probes,
+      boolean found,
+      int member,
+      Throwable error,
+      long nanos
+  ) {
+    this.path = path;
+    this.captureLevel = captureLevel;
+    this.shortCircuit = shortCircuit;
+    this.routedMember = routedMember;
+    this.probes = AoCollections.optimalUnmodifiableList(probes);
+    this.found = found;
+    this.member = member;
+    this.error = error;
+    this.nanos = nanos;
+  }
+
+  /**
+   * Gets a multi-line description of the lookup and each member consulted.
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(path).append(" at ").append(captureLevel).append(": ");
+    if (error != null) {
+      sb.append("failed with ").append(error);
+    } else if (!found) {
+      sb.append("not found");
+    } else if (member == -1) {
+      sb.append("found");
+    } else {
+      sb.append("found in member ").append(member);
+    }
+    sb.append(" in ").append(formatMillis(nanos));
+    if (shortCircuit != ShortCircuit.NONE) {
+      sb.append(" by ").append(shortCircuit);
+    }
+    if (routedMember != -1 && shortCircuit != ShortCircuit.ROUTING_INDEX) {
+      sb.append(", routed to member ").append(routedMember).append(" without finding it");
+    }
+    for (Probe probe : probes) {
+      sb.append("\n  ").append(probe);
+    }
+    return sb.toString();
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public CaptureLevel getCaptureLevel() {
+    return captureLevel;
+  }
+
+  /**
+   * Gets what answered the lookup without a full search of the members.
+   */
+  public ShortCircuit getShortCircuit() {
+    return shortCircuit;
+  }
+
+  /**
+   * Gets the member tried first by the routing index.
+   *
+   * @return  the index of the member or {@code -1} when the lookup was not routed
+   */
+  public int getRoutedMember() {
+    return routedMember;
+  }
+
+  /**
+   * Gets the members consulted, in the order they were called.  Under {@link LookupPolicy#PARALLEL} and
+   * {@link LookupPolicy#HEDGED}, members still running once the result was determined are not included.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Probe> getProbes() {
+    return probes;
+  }
+
+  /**
+   * Was the page found?
+   */
+  public boolean isFound() {
+    return found;
+  }
+
+  /**
+   * Gets the member that provided the page.
+   *
+   * @return  the index of the member or {@code -1} when not found or found in the page cache
+   */
+  public int getMember() {
+    return member;
+  }
+
+  /**
+   * Gets the exception that failed the lookup.
+   *
+   * @return  the exception or {@code null} when the lookup completed normally
+   */
+  public Throwable getError() {
+    return error;
+  }
+
+  /**
+   * Gets the duration of the lookup, in nanoseconds.
+   */
+  public long getNanos() {
+    return nanos;
+  }
+}
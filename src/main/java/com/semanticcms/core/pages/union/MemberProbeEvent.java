@@ -0,0 +1,64 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for each lookup in a single member of a union.
+ * Only lookups taking at least the threshold are recorded, which may be changed in the recording settings.
+ */
+@Name(MemberProbeEvent.NAME)
+@Label("Union Member Probe")
+@Description("A page lookup in a single member of a union of SemanticCMS page repositories")
+@Category({"SemanticCMS", "Pages"})
+@Threshold("20 ms")
+@StackTrace(false)
+final class MemberProbeEvent extends Event {
+
+  static final String NAME = "com.semanticcms.core.pages.union.MemberProbe";
+
+  @Label("Member")
+  int member;
+
+  @Label("Repository")
+  String repository;
+
+  @Label("Path")
+  String path;
+
+  @Label("Capture Level")
+  String captureLevel;
+
+  @Label("Outcome")
+  @Description("hit, miss, timeout, or the class of the exception thrown")
+  String outcome;
+}
@@ -0,0 +1,60 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Thrown when a member of a {@link UnionPageRepository} does not answer within its
+ * {@linkplain UnionPageRepository#setMemberTimeout(int, java.time.Duration) timeout} under
+ * {@link TimeoutPolicy#FAIL}.
+ */
+public class MemberTimeoutException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int member;
+  private final Duration timeout;
+
+  public MemberTimeoutException(String message, int member, Duration timeout) {
+    super(message);
+    this.member = member;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Gets the index of the member that timed out, in the same order as {@link UnionPageRepository#getRepositories()}.
+   */
+  public int getMember() {
+    return member;
+  }
+
+  /**
+   * Gets the timeout that was exceeded.
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.util.Objects;
+
+/**
+ * Identifies a page lookup by path and capture level.
+ */
+final class PageKey {
+
+  private final Path path;
+  private final CaptureLevel captureLevel;
+  private final int hash;
+
+  PageKey(Path path, CaptureLevel captureLevel) {
+    this.path = Objects.requireNonNull(path);
+    this.captureLevel = Objects.requireNonNull(captureLevel);
+    this.hash = path.hashCode() * 31 + captureLevel.hashCode();
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  CaptureLevel getCaptureLevel() {
+    return captureLevel;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof PageKey)) {
+      return false;
+    }
+    PageKey other = (PageKey) obj;
+    return
+        hash == other.hash
+            && captureLevel == other.captureLevel
+            && path.equals(other.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return path + "@" + captureLevel;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Searches all members concurrently while preserving first-in-order-wins semantics.
+ *
+ * @see  LookupPolicy#PARALLEL
+ */
+final class ParallelLookup {
+
+  /** Make no instances. */
+  private ParallelLookup() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Searches all members concurrently, returning the page from the lowest-index member that has the page.
+   * The first member is searched on the calling thread.  Any member lookups still running once the result is
+   * determined are cancelled.
+   *
+   * @param skip  the index of a member to not search or {@code -1} to search all
+   *
+   * @return  the page found or {@code null} when not found in any member
+   */
+  static Found getPage(int len, MemberProbe probe, int skip, Path path, CaptureLevel captureLevel, Executor executor)
+      throws IOException {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    FutureTask<Page>[] tasks = new FutureTask[len];
+    try {
+      for (int i = 1; i < len; i++) {
+        if (i != skip) {
+          int member = i;
+          FutureTask<Page> task = new FutureTask<>(() -> probe.getPage(member, path, captureLevel));
+          try {
+            executor.execute(task);
+            tasks[i] = task;
+          } catch (RejectedExecutionException e) {
+            // Searched on the calling thread when reached
+          }
+        }
+      }
+      for (int i = 0; i < len; i++) {
+        if (i != skip) {
+          FutureTask<Page> task = tasks[i];
+          Page page = (task == null) ? probe.getPage(i, path, captureLevel) : Futures.await(task);
+          if (page != null) {
+            return new Found(i, page);
+          }
+        }
+      }
+      return null;
+    } finally {
+      for (FutureTask<Page> task : tasks) {
+        if (task != null) {
+          task.cancel(true);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+/**
+ * The outcome of consulting a single member of a {@link UnionPageRepository} during a lookup.
+ *
+ * @see  LookupListener#afterProbe(int, com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel, com.semanticcms.core.pages.union.ProbeOutcome, long)
+ */
+public enum ProbeOutcome {
+
+  /**
+   * The member provided the page.
+   */
+  HIT,
+
+  /**
+   * The member does not have the page.
+   */
+  MISS,
+
+  /**
+   * The member was not called, because it is known to be unavailable, its circuit is open, or its bulkhead is full
+   * under {@link BulkheadPolicy#MISS}.
+   */
+  SKIPPED,
+
+  /**
+   * The member did not answer within its timeout or before the deadline of the lookup.
+   */
+  TIMEOUT,
+
+  /**
+   * The member threw an exception.
+   */
+  ERROR
+}
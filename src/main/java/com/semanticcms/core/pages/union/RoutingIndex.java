@@ -0,0 +1,109 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers which member repository last provided each path, so repeat lookups may go directly to the owning member.
+ *
+ * <p>Only routes to members after the first are stored, since a page found in the first member is already found
+ * without any wasted lookups.  Routes expire so that higher-priority members are re-scanned periodically.  Routes are
+ * held in an {@link ExpiringCache}, so both the number of routes and the memory used to track their age are bounded
+ * by the maximum number of entries, evicting the oldest routes first.</p>
+ */
+final class RoutingIndex {
+
+  private final ExpiringCache<Path, Integer> routes = new ExpiringCache<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder probesSaved = new LongAdder();
+
+  /**
+   * Gets the member index last known to provide the given path.
+   *
+   * @return  the member index or {@code -1} when not routed or the route has expired
+   */
+  int get(Path path, long nowNanos) {
+    Integer member = routes.get(path, nowNanos);
+    return (member == null) ? -1 : member;
+  }
+
+  /**
+   * Records the member that provided the given path, evicting the oldest routes when more than {@code maxEntries} are
+   * remembered.
+   */
+  void put(Path path, int member, long nowNanos, long ttlNanos, int maxEntries) {
+    if (member > 0) {
+      routes.put(path, member, nowNanos, ttlNanos, maxEntries);
+    } else {
+      routes.remove(path);
+    }
+  }
+
+  void remove(Path path) {
+    routes.remove(path);
+  }
+
+  void clear() {
+    routes.clear();
+  }
+
+  int size() {
+    return routes.size();
+  }
+
+  /**
+   * Records a lookup satisfied directly by its routed member.
+   */
+  void hit(int member) {
+    hits.increment();
+    probesSaved.add(member);
+  }
+
+  /**
+   * Records a lookup that was not routed or whose route did not satisfy the lookup.
+   */
+  void miss() {
+    misses.increment();
+  }
+
+  long getHits() {
+    return hits.sum();
+  }
+
+  long getMisses() {
+    return misses.sum();
+  }
+
+  long getProbesSaved() {
+    return probesSaved.sum();
+  }
+
+  long getEvictions() {
+    return routes.getEvictions();
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.semanticcms.core.model.Page;
+import com.semanticcms.core.pages.CaptureLevel;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent lookups of the same path and capture level into a single in-flight load.
+ * A lookup also shares a load of the same path already in-flight at a higher capture level, since the higher-level
+ * page satisfies the lower-level lookup.
+ *
+ * <p>In-flight loads are tracked per key in a concurrent map, so lookups of unrelated keys never contend.</p>
+ */
+final class SingleFlight {
+
+  private static final CaptureLevel[] captureLevels = CaptureLevel.values();
+
+  @FunctionalInterface
+  interface Loader {
+    Page load() throws IOException;
+  }
+
+  private final ConcurrentMap<PageKey, CompletableFuture<Page>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder crossLevelCoalesced = new LongAdder();
+
+  /**
+   * Finds a load in-flight for the same path at a higher capture level.
+   *
+   * @return  the in-flight load or {@code null} when none
+   */
+  private CompletableFuture<Page> getHigher(PageKey key) {
+    for (int i = captureLevels.length - 1; i > key.getCaptureLevel().ordinal(); i--) {
+      CompletableFuture<Page> higher = inFlight.get(new PageKey(key.getPath(), captureLevels[i]));
+      if (higher != null) {
+        return higher;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks if a shared load failed only because it was interrupted or cancelled, which says nothing about the page.
+   * Callers sharing such a load perform their own instead of failing with it.
+   */
+  static boolean isAbandoned(Future<Page> load) {
+    if (load.isCancelled()) {
+      return true;
+    }
+    if (!load.isDone()) {
+      return false;
+    }
+    try {
+      load.get();
+      return false;
+    } catch (InterruptedException e) {
+      // Not reached, since already done
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      return cause instanceof InterruptedIOException || cause instanceof CancellationException;
+    }
+  }
+
+  /**
+   * Performs the load for the given key, or waits for and shares the result of a load already in-flight for the same
+   * path at the same or a higher capture level.
+   * Exceptions from the load are thrown to every caller sharing it, except when the load was
+   * {@linkplain #isAbandoned(java.util.concurrent.Future) abandoned}: each caller sharing it then tries again.
+   */
+  Page get(PageKey key, Loader loader) throws IOException {
+    while (true) {
+      CompletableFuture<Page> shared = getHigher(key);
+      if (shared != null) {
+        crossLevelCoalesced.increment();
+      } else {
+        CompletableFuture<Page> future = new CompletableFuture<>();
+        shared = inFlight.putIfAbsent(key, future);
+        if (shared == null) {
+          return load(key, future, loader);
+        }
+        coalesced.increment();
+      }
+      try {
+        return Futures.await(shared);
+      } catch (IOException | RuntimeException e) {
+        if (!isAbandoned(shared)) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Performs a load already registered as in-flight.  The load is removed from in-flight before being completed, so
+   * callers retrying an {@linkplain #isAbandoned(java.util.concurrent.Future) abandoned} load never find it again.
+   */
+  private Page load(PageKey key, CompletableFuture<Page> future, Loader loader) throws IOException {
+    Page page;
+    try {
+      page = loader.load();
+    } catch (Throwable t) {
+      inFlight.remove(key, future);
+      future.completeExceptionally(t);
+      throw t;
+    }
+    inFlight.remove(key, future);
+    future.complete(page);
+    return page;
+  }
+
+  /**
+   * Finds a load already in-flight for the same path at the same or a higher capture level, without starting one.
+   * Used by lookups that must not start a shared load, such as those with a deadline that would fail every caller
+   * sharing it.
+   *
+   * @return  the in-flight load or {@code null} when none
+   */
+  CompletableFuture<Page> getInFlight(PageKey key) {
+    CompletableFuture<Page> higher = getHigher(key);
+    if (higher != null) {
+      crossLevelCoalesced.increment();
+      return higher;
+    }
+    CompletableFuture<Page> existing = inFlight.get(key);
+    if (existing != null) {
+      coalesced.increment();
+    }
+    return existing;
+  }
+
+  /**
+   * Starts the load for the given key, or shares a load already in-flight for the same path at the same or a higher
+   * capture level, without blocking.
+   *
+   * When the shared load is {@linkplain #isAbandoned(java.util.concurrent.Future) abandoned}, tries again.
+   *
+   * @return  a future for the result, which may be cancelled without affecting other callers sharing the load
+   */
+  CompletableFuture<Page> getAsync(PageKey key, Supplier<CompletableFuture<Page>> loader) {
+    CompletableFuture<Page> higher = getHigher(key);
+    if (higher != null) {
+      crossLevelCoalesced.increment();
+      return share(higher, key, loader);
+    }
+    CompletableFuture<Page> future = new CompletableFuture<>();
+    CompletableFuture<Page> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      coalesced.increment();
+      return share(existing, key, loader);
+    }
+    CompletableFuture<Page> load;
+    try {
+      load = loader.get();
+    } catch (Throwable t) {
+      inFlight.remove(key, future);
+      future.completeExceptionally(t);
+      throw t;
+    }
+    load.whenComplete((page, t) -> {
+      inFlight.remove(key, future);
+      if (t != null) {
+        future.completeExceptionally(t);
+      } else {
+        future.complete(page);
+      }
+    });
+    return future.copy();
+  }
+
+  /**
+   * Shares a load already in-flight, trying again when it is
+   * {@linkplain #isAbandoned(java.util.concurrent.Future) abandoned}.
+   */
+  private CompletableFuture<Page> share(
+      CompletableFuture<Page> shared,
+      PageKey key,
+      Supplier<CompletableFuture<Page>> loader
+  ) {
+    CompletableFuture<Page> result = new CompletableFuture<>();
+    shared.whenComplete((page, t) -> {
+      if (t == null) {
+        result.complete(page);
+      } else if (isAbandoned(shared)) {
+        getAsync(key, loader).whenComplete((retried, t2) -> {
+          if (t2 != null) {
+            result.completeExceptionally(t2);
+          } else {
+            result.complete(retried);
+          }
+        });
+      } else {
+        result.completeExceptionally(t);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Gets the number of lookups that shared a load already in-flight.
+   */
+  long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Gets the number of lookups that shared a load already in-flight at a higher capture level.
+   */
+  long getCrossLevelCoalesced() {
+    return crossLevelCoalesced.sum();
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+/**
+ * What a {@link UnionPageRepository} does when a member does not answer within its
+ * {@linkplain UnionPageRepository#setMemberTimeout(int, java.time.Duration) timeout}.
+ */
+public enum TimeoutPolicy {
+
+  /**
+   * The lookup fails with a {@link MemberTimeoutException}.
+   * This is the default.
+   */
+  FAIL,
+
+  /**
+   * The member is treated as not having the page, and the search continues with the next member.
+   */
+  MISS
+}
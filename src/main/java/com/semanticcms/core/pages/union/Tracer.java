@@ -0,0 +1,121 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import com.aoapps.net.Path;
+import com.semanticcms.core.pages.CaptureLevel;
+import com.semanticcms.core.pages.PageRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records a single lookup for {@link UnionPageRepository#explain(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}.
+ * Members are recorded as a per-lookup {@link LookupListener}, while the caches and routing index report when they
+ * answer the lookup.
+ */
+final class Tracer implements LookupListener {
+
+  private final PageRepository[] repositories;
+
+  private final List<LookupTrace.Probe> probes = new ArrayList<>();
+  private volatile LookupTrace.ShortCircuit shortCircuit = LookupTrace.ShortCircuit.NONE;
+  private volatile int routedMember = -1;
+
+  private boolean found;
+  private int member = -1;
+  private Throwable error;
+  private long startNanos;
+  private long nanos;
+
+  Tracer(PageRepository[] repositories) {
+    this.repositories = repositories;
+  }
+
+  void shortCircuit(LookupTrace.ShortCircuit shortCircuit) {
+    this.shortCircuit = shortCircuit;
+  }
+
+  void routed(int member) {
+    this.routedMember = member;
+  }
+
+  @Override
+  public void afterProbe(int member, Path path, CaptureLevel captureLevel, ProbeOutcome outcome, long nanos) {
+    // Start time is relative to the start of the lookup once known
+    long start = System.nanoTime() - nanos;
+    LookupTrace.Probe probe = new LookupTrace.Probe(member, repositories[member], outcome, start, nanos);
+    synchronized (probes) {
+      probes.add(probe);
+    }
+  }
+
+  @Override
+  public void onLookupComplete(
+      Path path,
+      CaptureLevel captureLevel,
+      boolean found,
+      int member,
+      Throwable error,
+      long nanos
+  ) {
+    this.found = found;
+    this.member = member;
+    this.error = error;
+    this.startNanos = System.nanoTime() - nanos;
+    this.nanos = nanos;
+  }
+
+  /**
+   * Gets the trace once the lookup has completed.
+   */
+  LookupTrace toTrace(Path path, CaptureLevel captureLevel) {
+    List<LookupTrace.Probe> snapshot;
+    synchronized (probes) {
+      snapshot = new ArrayList<>(probes.size());
+      for (LookupTrace.Probe probe : probes) {
+        snapshot.add(new LookupTrace.Probe(
+            probe.getMember(),
+            probe.getRepository(),
+            probe.getOutcome(),
+            probe.getStartNanos() - startNanos,
+            probe.getNanos()
+        ));
+      }
+    }
+    snapshot.sort(Comparator.comparingLong(LookupTrace.Probe::getStartNanos));
+    return new LookupTrace(
+        path,
+        captureLevel,
+        shortCircuit,
+        routedMember,
+        snapshot,
+        found,
+        member,
+        error,
+        nanos
+    );
+  }
+}
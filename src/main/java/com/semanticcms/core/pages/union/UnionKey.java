@@ -0,0 +1,104 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import com.semanticcms.core.pages.PageRepository;
+
+/**
+ * Identifies a union by its ordered member repositories, compared by identity.
+ * The hash code is computed once.
+ *
+ * <p>A key may {@linkplain #wrap(com.semanticcms.core.pages.PageRepository[]) wrap} a caller's array without
+ * copying, for lookups only.  A key is {@linkplain #copy() copied} before being stored.</p>
+ */
+final class UnionKey {
+
+  /**
+   * Wraps the given array without copying.  The caller must not modify the array while the key is in use.
+   */
+  static UnionKey wrap(PageRepository[] repositories) {
+    return new UnionKey(repositories);
+  }
+
+  private final PageRepository[] repositories;
+  private final int hash;
+
+  private UnionKey(PageRepository[] repositories) {
+    this.repositories = repositories;
+    int h = 1;
+    for (PageRepository repository : repositories) {
+      h = 31 * h + System.identityHashCode(repository);
+    }
+    this.hash = h;
+  }
+
+  /**
+   * Gets a key with its own copy of the members, safe to store.
+   */
+  UnionKey copy() {
+    return new UnionKey(repositories.clone());
+  }
+
+  int size() {
+    return repositories.length;
+  }
+
+  /**
+   * Gets the members.  The returned array must not be modified.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField")
+  PageRepository[] getRepositories() {
+    return repositories;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof UnionKey)) {
+      return false;
+    }
+    UnionKey other = (UnionKey) obj;
+    if (hash != other.hash) {
+      return false;
+    }
+    PageRepository[] otherRepositories = other.repositories;
+    int len = repositories.length;
+    if (len != otherRepositories.length) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (repositories[i] != otherRepositories[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+import com.semanticcms.core.pages.CaptureLevel;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records per-member metrics of a union without locking.
+ *
+ * <p>Holds no reference to the union, so a union with registered metrics may still be garbage collected.</p>
+ */
+final class UnionMetrics implements UnionMetricsMXBean {
+
+  private static final CaptureLevel[] captureLevels = CaptureLevel.values();
+
+  private final String[] repositories;
+  private final LongAdder[] hits;
+  private final LongAdder[] misses;
+  private final LongAdder[] exceptions;
+  private final LatencyHistogram[][] latencies;
+
+  UnionMetrics(String[] repositories) {
+    this.repositories = repositories;
+    int len = repositories.length;
+    hits = new LongAdder[len];
+    misses = new LongAdder[len];
+    exceptions = new LongAdder[len];
+    latencies = new LatencyHistogram[len][captureLevels.length];
+    for (int i = 0; i < len; i++) {
+      hits[i] = new LongAdder();
+      misses[i] = new LongAdder();
+      exceptions[i] = new LongAdder();
+      for (int j = 0; j < captureLevels.length; j++) {
+        latencies[i][j] = new LatencyHistogram();
+      }
+    }
+  }
+
+  /**
+   * Records a lookup in a member that returned normally.
+   */
+  void recordResult(int member, CaptureLevel captureLevel, boolean found, long nanos) {
+    (found ? hits : misses)[member].increment();
+    latencies[member][captureLevel.ordinal()].record(nanos);
+  }
+
+  /**
+   * Records a lookup in a member that failed.
+   */
+  void recordException(int member, CaptureLevel captureLevel, long nanos) {
+    exceptions[member].increment();
+    latencies[member][captureLevel.ordinal()].record(nanos);
+  }
+
+  @Override
+  public String[] getRepositories() {
+    return repositories.clone();
+  }
+
+  @Override
+  public long[] getProbes() {
+    long[] probes = new long[repositories.length];
+    for (int i = 0; i < probes.length; i++) {
+      probes[i] = hits[i].sum() + misses[i].sum() + exceptions[i].sum();
+    }
+    return probes;
+  }
+
+  private static long[] sum(LongAdder[] adders) {
+    long[] sums = new long[adders.length];
+    for (int i = 0; i < sums.length; i++) {
+      sums[i] = adders[i].sum();
+    }
+    return sums;
+  }
+
+  @Override
+  public long[] getHits() {
+    return sum(hits);
+  }
+
+  @Override
+  public long[] getMisses() {
+    return sum(misses);
+  }
+
+  @Override
+  public long[] getExceptions() {
+    return sum(exceptions);
+  }
+
+  @Override
+  public long[] getLatencyBucketLimitsMicros() {
+    return LatencyHistogram.getBucketLimitsMicros();
+  }
+
+  @Override
+  public long[][] getLatencyHistogram(String captureLevel) {
+    int level = CaptureLevel.valueOf(captureLevel).ordinal();
+    long[][] histogram = new long[repositories.length][];
+    for (int i = 0; i < histogram.length; i++) {
+      histogram[i] = latencies[i][level].getCounts();
+    }
+    return histogram;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.semanticcms.core.pages.union;
+
+/**
+ * Per-member metrics of a {@link UnionPageRepository}, published through JMX by
+ * {@link UnionPageRepository#registerMetrics()}.
+ *
+ * <p>Each array has one element per member, in the same order as {@link UnionPageRepository#getRepositories()}.</p>
+ */
+public interface UnionMetricsMXBean {
+
+  /**
+   * Gets the {@link Object#toString()} of each member.
+   */
+  String[] getRepositories();
+
+  /**
+   * Gets the number of lookups that called each member.  This is the sum of hits, misses, and exceptions.
+   * Members skipped by the availability policy, an open circuit, or a full bulkhead are not counted.
+   */
+  long[] getProbes();
+
+  /**
+   * Gets the number of lookups that found the page in each member.
+   */
+  long[] getHits();
+
+  /**
+   * Gets the number of lookups that did not find the page in each member, including timeouts treated as a miss.
+   */
+  long[] getMisses();
+
+  /**
+   * Gets the number of lookups that failed in each member, including timeouts not treated as a miss.
+   */
+  long[] getExceptions();
+
+  /**
+   * Gets the upper bound, exclusive, of each latency histogram bucket in microseconds.  The last bucket is unbounded
+   * and reported as {@link Long#MAX_VALUE}.
+   */
+  long[] getLatencyBucketLimitsMicros();
+
+  /**
+   * Gets the histogram of lookup latencies in each member for the given capture level.
+   *
+   * @param captureLevel  the name of a {@link com.semanticcms.core.pages.CaptureLevel}
+   *
+   * @return  the count in each bucket of {@link #getLatencyBucketLimitsMicros()}, indexed by member then bucket
+   */
+  long[][] getLatencyHistogram(String captureLevel);
+}
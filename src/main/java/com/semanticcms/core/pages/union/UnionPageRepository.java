@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
- * Copyright (C) 2017, 2018, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2018, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,32 +29,83 @@ import com.semanticcms.core.model.Page;
 import com.semanticcms.core.pages.CaptureLevel;
 import com.semanticcms.core.pages.PageRepository;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * Combines multiple sets of SemanticCMS pages.
  */
 public class UnionPageRepository implements PageRepository {
 
-  private static final Map<List<PageRepository>, UnionPageRepository> unionRepositories = new HashMap<>();
+  private static final Logger logger = Logger.getLogger(UnionPageRepository.class.getName());
+
+  private static final WeakRegistry<UnionKey, UnionPageRepository> unionRepositories = new WeakRegistry<>();
 
   /**
    * Gets the union repository representing the given set of repositories, creating a new repository only as-needed.
-   * Only one {@link UnionPageRepository} is created per unique list of underlying repositories.
+   * Only one {@link UnionPageRepository} is created per unique list of underlying repositories, where repositories
+   * are compared by identity.
+   *
+   * <p>A union repository is held weakly until configured: once no longer referenced elsewhere, it is released along
+   * with its caches, and a new union repository is created on the next request.  Once any setting is changed, a
+   * listener is added, or its metrics are registered, the union repository is held strongly, so every later request
+   * returns the same configured instance until {@link #release()} is called.</p>
+   *
+   * <p>Any union repository given as a member is replaced by its members, and repeated repositories are kept only at
+   * their first position, since a later occurrence can never provide a page.  The canonical union repository for the
+   * flattened list of repositories is returned.  A union repository already configured, as described above, is kept
+   * as a single member instead, so its settings, listeners, and metrics still apply to the lookups through it.
+   * Configuring a union repository only after it has been flattened into another does not affect the other.</p>
    *
-   * @param repositories  A defensive copy is made
+   * @param repositories  A defensive copy is made only when a new union repository is created
    */
   public static UnionPageRepository getInstance(PageRepository ... repositories) {
-    return getInstance(new ArrayList<>(Arrays.asList(repositories)));
+    return getInstance(UnionKey.wrap(repositories), UnionKey::copy);
   }
 
   /**
    * Gets the union repository representing the given set of repositories, creating a new repository only as-needed.
-   * Only one {@link UnionPageRepository} is created per unique list of underlying repositories.
+   * Only one {@link UnionPageRepository} is created per unique list of underlying repositories, where repositories
+   * are compared by identity.
+   *
+   * <p>A union repository is held weakly until configured: once no longer referenced elsewhere, it is released along
+   * with its caches, and a new union repository is created on the next request.  Once any setting is changed, a
+   * listener is added, or its metrics are registered, the union repository is held strongly, so every later request
+   * returns the same configured instance until {@link #release()} is called.</p>
+   *
+   * <p>Any union repository given as a member is replaced by its members, and repeated repositories are kept only at
+   * their first position, since a later occurrence can never provide a page.  The canonical union repository for the
+   * flattened list of repositories is returned.  A union repository already configured, as described above, is kept
+   * as a single member instead, so its settings, listeners, and metrics still apply to the lookups through it.
+   * Configuring a union repository only after it has been flattened into another does not affect the other.</p>
    *
    * @param repositories  Iterated once only.
    */
@@ -63,32 +114,213 @@ public class UnionPageRepository implements PageRepository {
     for (PageRepository repository : repositories) {
       list.add(repository);
     }
-    return getInstance(list);
+    return getInstance(UnionKey.wrap(list.toArray(new PageRepository[list.size()])), UnaryOperator.identity());
   }
 
   /**
    * Only one {@link UnionPageRepository} is created per unique list of underlying repositories.
+   *
+   * @param storeKey  gets a key safe to store, called only when a new repository is created
    */
-  private static UnionPageRepository getInstance(List<PageRepository> stores) {
-    if (stores.isEmpty()) {
+  private static UnionPageRepository getInstance(UnionKey key, UnaryOperator<UnionKey> storeKey) {
+    if (key.size() == 0) {
       throw new IllegalArgumentException("At least one store required");
     }
-    synchronized (unionRepositories) {
-      UnionPageRepository unionRepository = unionRepositories.get(stores);
-      if (unionRepository == null) {
-        unionRepository = new UnionPageRepository(stores.toArray(new PageRepository[stores.size()]));
-        unionRepositories.put(stores, unionRepository);
+    PageRepository[] repositories = key.getRepositories();
+    PageRepository[] flattened = flatten(repositories);
+    if (flattened != repositories) {
+      key = UnionKey.wrap(flattened);
+      storeKey = UnaryOperator.identity();
+    }
+    return unionRepositories.get(
+        key,
+        storeKey,
+        k -> new UnionPageRepository(k.getRepositories())
+    );
+  }
+
+  /**
+   * Checks if a repository is a nested union to be replaced by its members.  A configured union is kept as-is, since
+   * flattening would bypass its settings.
+   */
+  private static boolean isFlattened(PageRepository repository) {
+    return repository instanceof UnionPageRepository && !((UnionPageRepository) repository).configured;
+  }
+
+  /**
+   * Replaces any nested union not configured with its members, then removes all but the first occurrence of each
+   * repository.  A later occurrence can never provide a page, since the first occurrence is always searched first.
+   *
+   * @return  the given array when already flat without duplicates, otherwise a new array
+   */
+  private static PageRepository[] flatten(PageRepository[] repositories) {
+    int len = repositories.length;
+    boolean flat = true;
+    for (int i = 0; i < len && flat; i++) {
+      PageRepository repository = repositories[i];
+      if (isFlattened(repository)) {
+        flat = false;
+      } else {
+        for (int j = 0; j < i; j++) {
+          if (repositories[j] == repository) {
+            flat = false;
+            break;
+          }
+        }
+      }
+    }
+    if (flat) {
+      return repositories;
+    }
+    List<PageRepository> list = new ArrayList<>();
+    for (PageRepository repository : repositories) {
+      if (isFlattened(repository)) {
+        // Nested unions are already flat, other than configured members kept as-is
+        for (PageRepository member : ((UnionPageRepository) repository).repositories) {
+          addIfAbsent(list, member);
+        }
+      } else {
+        addIfAbsent(list, repository);
+      }
+    }
+    return list.toArray(new PageRepository[list.size()]);
+  }
+
+  private static void addIfAbsent(List<PageRepository> list, PageRepository repository) {
+    for (PageRepository existing : list) {
+      if (existing == repository) {
+        return;
       }
-      return unionRepository;
     }
+    list.add(repository);
   }
 
   private final PageRepository[] repositories;
   private final List<PageRepository> unmodifiableRepositories;
 
+  /**
+   * Set once any setting is changed, a listener added, or metrics registered.  Never cleared, since the union keeps
+   * its settings even once {@linkplain #release() released}.
+   */
+  private volatile boolean configured;
+
+  /**
+   * The default maximum number of routes remembered by the routing index.
+   */
+  public static final int DEFAULT_ROUTING_MAX_ENTRIES = 10000;
+
+  private final RoutingIndex routingIndex = new RoutingIndex();
+  private volatile long routingTtlNanos;
+  private volatile int routingMaxEntries = DEFAULT_ROUTING_MAX_ENTRIES;
+
+  /**
+   * The default maximum number of misses remembered by the negative cache.
+   */
+  public static final int DEFAULT_NEGATIVE_CACHE_MAX_ENTRIES = 10000;
+
+  private final ExpiringCache<PageKey, Boolean> negativeCache = new ExpiringCache<>();
+  private final LongAdder negativeCacheHits = new LongAdder();
+  private volatile long negativeCacheTtlNanos;
+  private volatile int negativeCacheMaxEntries = DEFAULT_NEGATIVE_CACHE_MAX_ENTRIES;
+
+  private volatile LookupPolicy lookupPolicy = LookupPolicy.SEQUENTIAL;
+  private volatile Executor executor;
+  private volatile int batchParallelism = 1;
+
+  /**
+   * The default delay before {@link LookupPolicy#HEDGED} starts the next member.
+   */
+  public static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(50);
+
+  private volatile long hedgeDelayNanos = DEFAULT_HEDGE_DELAY.toNanos();
+  private volatile double hedgePercentile;
+  private final LatencyTracker[] latencies;
+
+  private final SingleFlight singleFlight = new SingleFlight();
+  private volatile boolean coalescing;
+
+  /**
+   * The default maximum number of pages cached.
+   */
+  public static final int DEFAULT_PAGE_CACHE_MAX_ENTRIES = 10000;
+
+  private final ExpiringCache<Path, CachedPage> pageCache = new ExpiringCache<>();
+  private final LongAdder pageCacheHits = new LongAdder();
+  private volatile long pageCacheTtlNanos;
+  private volatile int pageCacheMaxEntries = DEFAULT_PAGE_CACHE_MAX_ENTRIES;
+
+  private final AvailabilityMonitor availabilityMonitor;
+  private volatile long availabilityTtlNanos;
+  private volatile boolean parallelAvailability;
+  private volatile long availabilityTimeoutNanos;
+  private volatile AvailabilityPolicy availabilityPolicy = AvailabilityPolicy.ALL;
+  private final LongAdder unavailableSkips = new LongAdder();
+
+  /**
+   * The default time a circuit stays open before a trial lookup is allowed through.
+   */
+  public static final Duration DEFAULT_CIRCUIT_OPEN_DURATION = Duration.ofSeconds(30);
+
+  private final CircuitBreaker[] circuitBreakers;
+  private volatile int circuitFailureThreshold;
+  private volatile long circuitOpenNanos = DEFAULT_CIRCUIT_OPEN_DURATION.toNanos();
+  private final LongAdder circuitOpenSkips = new LongAdder();
+
+  private final LongAdder deadlinesExceeded = new LongAdder();
+
+  /**
+   * The default time to wait for a bulkhead permit under {@link BulkheadPolicy#WAIT}.
+   */
+  public static final Duration DEFAULT_BULKHEAD_WAIT = Duration.ofSeconds(1);
+
+  private final AtomicReferenceArray<Bulkhead> bulkheads;
+  private volatile BulkheadPolicy bulkheadPolicy = BulkheadPolicy.WAIT;
+  private volatile long bulkheadWaitNanos = DEFAULT_BULKHEAD_WAIT.toNanos();
+  private final LongAdder[] bulkheadRejections;
+
+  private static final LookupListener[] NO_LISTENERS = new LookupListener[0];
+
+  private final Object listenersLock = new Object();
+  private volatile LookupListener[] listeners = NO_LISTENERS;
+
+  /**
+   * Probes members for lookups sharing {@link LookupContext#UNTRACKED}.
+   */
+  private final MemberProbe untrackedProbe;
+
+  /**
+   * Distinguishes the registered metrics of unions with the same {@link #toString()}.
+   */
+  private static final AtomicLong metricsSequence = new AtomicLong();
+
+  private final UnionMetrics metrics;
+  private final Object metricsLock = new Object();
+  private ObjectName metricsName;
+
+  private final AtomicLongArray memberTimeoutNanos;
+  private volatile TimeoutPolicy timeoutPolicy = TimeoutPolicy.FAIL;
+  private final LongAdder[] memberTimeoutCounts;
+
   private UnionPageRepository(PageRepository[] repositories) {
     this.repositories = repositories;
     this.unmodifiableRepositories = AoCollections.optimalUnmodifiableList(Arrays.asList(repositories));
+    this.availabilityMonitor = new AvailabilityMonitor(this::probeAvailability);
+    this.latencies = new LatencyTracker[repositories.length];
+    this.circuitBreakers = new CircuitBreaker[repositories.length];
+    this.memberTimeoutNanos = new AtomicLongArray(repositories.length);
+    this.memberTimeoutCounts = new LongAdder[repositories.length];
+    this.bulkheads = new AtomicReferenceArray<>(repositories.length);
+    this.bulkheadRejections = new LongAdder[repositories.length];
+    String[] names = new String[repositories.length];
+    for (int i = 0; i < repositories.length; i++) {
+      latencies[i] = new LatencyTracker();
+      circuitBreakers[i] = new CircuitBreaker();
+      memberTimeoutCounts[i] = new LongAdder();
+      bulkheadRejections[i] = new LongAdder();
+      names[i] = repositories[i].toString();
+    }
+    this.metrics = new UnionMetrics(names);
+    this.untrackedProbe = (member, path, captureLevel) -> probe(member, path, captureLevel, LookupContext.UNTRACKED);
   }
 
   @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
@@ -96,49 +328,1931 @@ public class UnionPageRepository implements PageRepository {
     return unmodifiableRepositories;
   }
 
-  @Override
-  public String toString() {
-    StringBuilder sb = new StringBuilder();
-    sb.append("union(");
-    for (int i = 0; i < repositories.length; i++) {
-      PageRepository repository = repositories[i];
-      if (i > 0) {
-        sb.append(", ");
-      }
-      sb.append(repository.toString());
+  /**
+   * Gets how long the routing index remembers which member provided a path.
+   *
+   * @return  the time-to-live or {@link Duration#ZERO} when routing is disabled (the default)
+   *
+   * @see  #setRoutingTtl(java.time.Duration)
+   */
+  public Duration getRoutingTtl() {
+    return Duration.ofNanos(routingTtlNanos);
+  }
+
+  /**
+   * Sets how long the routing index remembers which member provided a path.
+   * While a route is remembered, lookups for the path go directly to the owning member, skipping all
+   * higher-priority members.  When the owning member no longer provides the page, the route is dropped and all
+   * repositories are searched in-order.
+   *
+   * <p>A page added to a higher-priority member will not be seen for up to this duration after it is added, which is
+   * the trade-off for not scanning the higher-priority members on every lookup.</p>
+   *
+   * @param routingTtl  the time-to-live or {@link Duration#ZERO} to disable routing and clear the index
+   *
+   * @see  #setRoutingMaxEntries(int)
+   */
+  public void setRoutingTtl(Duration routingTtl) {
+    retain();
+    if (routingTtl.isNegative()) {
+      throw new IllegalArgumentException("routingTtl < 0: " + routingTtl);
+    }
+    long nanos = routingTtl.toNanos();
+    routingTtlNanos = nanos;
+    if (nanos == 0) {
+      routingIndex.clear();
     }
-    return sb.append("):").toString();
   }
 
   /**
-   * Available when all repositories are available.
+   * Gets the maximum number of routes remembered by the routing index.
+   *
+   * @see  #DEFAULT_ROUTING_MAX_ENTRIES
    */
-  @Override
-  public boolean isAvailable() {
-    for (PageRepository repository : repositories) {
-      if (!repository.isAvailable()) {
-        return false;
-      }
+  public int getRoutingMaxEntries() {
+    return routingMaxEntries;
+  }
+
+  /**
+   * Sets the maximum number of routes remembered by the routing index.
+   * When full, the oldest routes are evicted first.
+   */
+  public void setRoutingMaxEntries(int routingMaxEntries) {
+    retain();
+    if (routingMaxEntries < 1) {
+      throw new IllegalArgumentException("routingMaxEntries < 1: " + routingMaxEntries);
     }
-    return true;
+    this.routingMaxEntries = routingMaxEntries;
   }
 
   /**
-   * {@inheritDoc}
+   * Gets the number of routes evicted from the routing index because it was full.
+   */
+  public long getRoutingEvictions() {
+    return routingIndex.getEvictions();
+  }
+
+  /**
+   * Gets the number of lookups satisfied directly by the member remembered in the routing index.
+   */
+  public long getRoutingHits() {
+    return routingIndex.getHits();
+  }
+
+  /**
+   * Gets the number of lookups, while routing is enabled, that were not routed or whose routed member no longer
+   * provided the page.
+   */
+  public long getRoutingMisses() {
+    return routingIndex.getMisses();
+  }
+
+  /**
+   * Gets the total number of member lookups avoided by the routing index.
+   */
+  public long getRoutingProbesSaved() {
+    return routingIndex.getProbesSaved();
+  }
+
+  /**
+   * Gets how long a lookup not found in any member is remembered.
    *
-   * <p><b>Implementation Note:</b><br>
-   * Searches all repositories in-order, returning the first one that returns non-null from {@link PageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}.</p>
+   * @return  the time-to-live or {@link Duration#ZERO} when the negative cache is disabled (the default)
    *
-   * @return  the first page found or {@code null} when the page does not exist in any repository
+   * @see  #setNegativeCacheTtl(java.time.Duration)
    */
-  @Override
-  public Page getPage(Path path, CaptureLevel captureLevel) throws IOException {
-    for (PageRepository repository : repositories) {
-      Page page = repository.getPage(path, captureLevel);
-      if (page != null) {
-        return page;
+  public Duration getNegativeCacheTtl() {
+    return Duration.ofNanos(negativeCacheTtlNanos);
+  }
+
+  /**
+   * Sets how long a lookup not found in any member is remembered.
+   * While remembered, lookups for the same path and capture level return {@code null} without calling any member.
+   *
+   * @param negativeCacheTtl  the time-to-live or {@link Duration#ZERO} to disable the negative cache and clear it
+   *
+   * @see  #setNegativeCacheMaxEntries(int)
+   */
+  public void setNegativeCacheTtl(Duration negativeCacheTtl) {
+    retain();
+    if (negativeCacheTtl.isNegative()) {
+      throw new IllegalArgumentException("negativeCacheTtl < 0: " + negativeCacheTtl);
+    }
+    long nanos = negativeCacheTtl.toNanos();
+    negativeCacheTtlNanos = nanos;
+    if (nanos == 0) {
+      negativeCache.clear();
+    }
+  }
+
+  /**
+   * Gets the maximum number of misses remembered by the negative cache.
+   *
+   * @see  #DEFAULT_NEGATIVE_CACHE_MAX_ENTRIES
+   */
+  public int getNegativeCacheMaxEntries() {
+    return negativeCacheMaxEntries;
+  }
+
+  /**
+   * Sets the maximum number of misses remembered by the negative cache.
+   * When full, the oldest misses are evicted first.
+   */
+  public void setNegativeCacheMaxEntries(int negativeCacheMaxEntries) {
+    retain();
+    if (negativeCacheMaxEntries < 1) {
+      throw new IllegalArgumentException("negativeCacheMaxEntries < 1: " + negativeCacheMaxEntries);
+    }
+    this.negativeCacheMaxEntries = negativeCacheMaxEntries;
+  }
+
+  /**
+   * Gets the number of lookups answered by the negative cache.
+   */
+  public long getNegativeCacheHits() {
+    return negativeCacheHits.sum();
+  }
+
+  /**
+   * Gets the number of misses evicted from the negative cache because it was full.
+   */
+  public long getNegativeCacheEvictions() {
+    return negativeCache.getEvictions();
+  }
+
+  /**
+   * Gets how members are searched.
+   *
+   * @see  #setLookupPolicy(com.semanticcms.core.pages.union.LookupPolicy)
+   */
+  public LookupPolicy getLookupPolicy() {
+    return lookupPolicy;
+  }
+
+  /**
+   * Sets how members are searched.  Defaults to {@link LookupPolicy#SEQUENTIAL}.
+   *
+   * @see  #setExecutor(java.util.concurrent.Executor)
+   */
+  public void setLookupPolicy(LookupPolicy lookupPolicy) {
+    retain();
+    this.lookupPolicy = Objects.requireNonNull(lookupPolicy);
+  }
+
+  /**
+   * Gets the executor used for concurrent member lookups.
+   *
+   * @return  the executor or {@code null} when using a shared default executor
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Sets the executor used for concurrent member lookups.
+   * Member lookups rejected by the executor are performed on the calling thread, except by
+   * {@link #getPageAsync(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}, which never blocks the calling
+   * thread and fails instead.
+   *
+   * <p>Before Java 21, the shared default executor is a bounded pool of platform threads, which rejects member lookups
+   * once all its threads are busy.  On Java 21 and newer, it uses virtual threads.</p>
+   *
+   * @param executor  the executor or {@code null} to use a shared default executor
+   */
+  public void setExecutor(Executor executor) {
+    retain();
+    this.executor = executor;
+  }
+
+  /**
+   * Gets the executor for concurrent member lookups, using the shared default executor when none set.
+   */
+  private Executor resolveExecutor() {
+    Executor e = executor;
+    return (e == null) ? DefaultExecutor.get() : e;
+  }
+
+  /**
+   * Gets the fixed delay before {@link LookupPolicy#HEDGED} starts the next member.
+   *
+   * @see  #DEFAULT_HEDGE_DELAY
+   */
+  public Duration getHedgeDelay() {
+    return Duration.ofNanos(hedgeDelayNanos);
+  }
+
+  /**
+   * Sets the fixed delay before {@link LookupPolicy#HEDGED} starts the next member.
+   * This is also used for members that do not yet have enough recent lookups for a
+   * {@linkplain #setHedgePercentile(double) percentile-derived delay}.
+   */
+  public void setHedgeDelay(Duration hedgeDelay) {
+    retain();
+    if (hedgeDelay.isNegative()) {
+      throw new IllegalArgumentException("hedgeDelay < 0: " + hedgeDelay);
+    }
+    hedgeDelayNanos = hedgeDelay.toNanos();
+  }
+
+  /**
+   * Gets the latency percentile used to derive each member's hedging delay.
+   *
+   * @return  the percentile or {@code 0.0} when the fixed {@linkplain #getHedgeDelay() hedging delay} is used
+   */
+  public double getHedgePercentile() {
+    return hedgePercentile;
+  }
+
+  /**
+   * Sets the latency percentile used to derive each member's hedging delay.
+   * For example, {@code 0.95} starts the next member once the current member has taken longer than 95% of its recent
+   * lookups.
+   *
+   * <p>Recent latencies are only recorded while a percentile is set under {@link LookupPolicy#HEDGED}, so lookups
+   * do not pay for them otherwise.  The fixed delay is used until enough lookups have been recorded.</p>
+   *
+   * @param hedgePercentile  the percentile, greater than {@code 0.0} and at most {@code 1.0}, or {@code 0.0} to
+   *                         always use the fixed {@linkplain #setHedgeDelay(java.time.Duration) hedging delay}
+   */
+  public void setHedgePercentile(double hedgePercentile) {
+    retain();
+    if (!(hedgePercentile >= 0 && hedgePercentile <= 1)) {
+      throw new IllegalArgumentException("hedgePercentile out of range [0.0, 1.0]: " + hedgePercentile);
+    }
+    this.hedgePercentile = hedgePercentile;
+  }
+
+  /**
+   * Records the latency of a member for its percentile-derived hedging delay, only when in use.
+   */
+  private void recordLatency(int member, long nanos) {
+    if (hedgePercentile != 0 && lookupPolicy == LookupPolicy.HEDGED) {
+      latencies[member].record(nanos);
+    }
+  }
+
+  /**
+   * Gets the current hedging delay for the given member.
+   */
+  private long getHedgeDelayNanos(int member) {
+    double percentile = hedgePercentile;
+    if (percentile != 0) {
+      long nanos = latencies[member].getPercentile(percentile);
+      if (nanos != -1) {
+        return nanos;
       }
     }
-    return null;
+    return hedgeDelayNanos;
+  }
+
+  /**
+   * Gets the maximum number of paths looked-up concurrently in each repository by
+   * {@link #getPages(java.util.Collection, com.semanticcms.core.pages.CaptureLevel)}.
+   *
+   * @see  #setBatchParallelism(int)
+   */
+  public int getBatchParallelism() {
+    return batchParallelism;
+  }
+
+  /**
+   * Sets the maximum number of paths looked-up concurrently in each repository by
+   * {@link #getPages(java.util.Collection, com.semanticcms.core.pages.CaptureLevel)}.  Defaults to {@code 1}, looking
+   * up the paths of a batch one at a time on the calling thread.  This is independent of the
+   * {@linkplain #setLookupPolicy(com.semanticcms.core.pages.union.LookupPolicy) lookup policy}, so a large batch
+   * never floods the repositories or the {@linkplain #setExecutor(java.util.concurrent.Executor) executor} unless
+   * opted-in.
+   *
+   * @param batchParallelism  the maximum, at least {@code 1}, with values above {@code 1} using the executor
+   */
+  public void setBatchParallelism(int batchParallelism) {
+    retain();
+    if (batchParallelism < 1) {
+      throw new IllegalArgumentException("batchParallelism < 1: " + batchParallelism);
+    }
+    this.batchParallelism = batchParallelism;
+  }
+
+  /**
+   * Are concurrent lookups of the same path and capture level coalesced?
+   *
+   * @see  #setCoalescing(boolean)
+   */
+  public boolean isCoalescing() {
+    return coalescing;
+  }
+
+  /**
+   * Sets whether concurrent lookups of the same path and capture level are coalesced into a single search of the
+   * members, with every caller receiving the same {@link Page} or exception.  Disabled by default.
+   *
+   * <p>A lookup also shares a search of the same path already in-flight at a higher capture level, such as a
+   * {@link CaptureLevel#META} lookup waiting on a {@link CaptureLevel#BODY} capture.</p>
+   */
+  public void setCoalescing(boolean coalescing) {
+    retain();
+    this.coalescing = coalescing;
+  }
+
+  /**
+   * Gets the number of lookups that shared a search already in-flight for the same path and capture level.
+   */
+  public long getCoalescedLookups() {
+    return singleFlight.getCoalesced();
+  }
+
+  /**
+   * Gets the number of lookups that shared a search already in-flight for the same path at a higher capture level.
+   */
+  public long getCrossLevelCoalescedLookups() {
+    return singleFlight.getCrossLevelCoalesced();
+  }
+
+  /**
+   * Gets how long found pages are cached.
+   *
+   * @return  the time-to-live or {@link Duration#ZERO} when the page cache is disabled (the default)
+   *
+   * @see  #setPageCacheTtl(java.time.Duration)
+   */
+  public Duration getPageCacheTtl() {
+    return Duration.ofNanos(pageCacheTtlNanos);
+  }
+
+  /**
+   * Sets how long found pages are cached.
+   * Only the page at the highest capture level obtained is cached per path, and it satisfies lookups at that level
+   * and all lower levels without calling any member.  For example, a page captured at {@link CaptureLevel#BODY}
+   * also satisfies {@link CaptureLevel#META} and {@link CaptureLevel#PAGE} lookups.
+   *
+   * <p>Changes to a page in its member will not be seen for up to this duration.</p>
+   *
+   * @param pageCacheTtl  the time-to-live or {@link Duration#ZERO} to disable the page cache and clear it
+   *
+   * @see  #setPageCacheMaxEntries(int)
+   */
+  public void setPageCacheTtl(Duration pageCacheTtl) {
+    retain();
+    if (pageCacheTtl.isNegative()) {
+      throw new IllegalArgumentException("pageCacheTtl < 0: " + pageCacheTtl);
+    }
+    long nanos = pageCacheTtl.toNanos();
+    pageCacheTtlNanos = nanos;
+    if (nanos == 0) {
+      pageCache.clear();
+    }
+  }
+
+  /**
+   * Gets the maximum number of pages cached.
+   *
+   * @see  #DEFAULT_PAGE_CACHE_MAX_ENTRIES
+   */
+  public int getPageCacheMaxEntries() {
+    return pageCacheMaxEntries;
+  }
+
+  /**
+   * Sets the maximum number of pages cached.
+   * When full, the oldest pages are evicted first.
+   */
+  public void setPageCacheMaxEntries(int pageCacheMaxEntries) {
+    retain();
+    if (pageCacheMaxEntries < 1) {
+      throw new IllegalArgumentException("pageCacheMaxEntries < 1: " + pageCacheMaxEntries);
+    }
+    this.pageCacheMaxEntries = pageCacheMaxEntries;
+  }
+
+  /**
+   * Gets the number of lookups answered by the page cache.
+   */
+  public long getPageCacheHits() {
+    return pageCacheHits.sum();
+  }
+
+  /**
+   * Gets the number of pages evicted from the page cache because it was full.
+   */
+  public long getPageCacheEvictions() {
+    return pageCache.getEvictions();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("union(");
+    for (int i = 0; i < repositories.length; i++) {
+      PageRepository repository = repositories[i];
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(repository.toString());
+    }
+    return sb.append("):").toString();
+  }
+
+  /**
+   * Gets how long the availability of the repositories is cached.
+   *
+   * @return  the time-to-live or {@link Duration#ZERO} when availability is not cached (the default)
+   *
+   * @see  #setAvailabilityTtl(java.time.Duration)
+   */
+  public Duration getAvailabilityTtl() {
+    return Duration.ofNanos(availabilityTtlNanos);
+  }
+
+  /**
+   * Sets how long the availability of the repositories is cached.
+   * Once expired, the cached availability continues to be returned while it is refreshed in the background on the
+   * {@linkplain #setExecutor(java.util.concurrent.Executor) executor}, so only the first call to
+   * {@link #isAvailable()} waits on the repositories.  The refresh is started by the first call after expiry.
+   * A refresh still running after another time-to-live, such as on a repository that hangs without an
+   * {@linkplain #setAvailabilityTimeout(java.time.Duration) availability timeout}, is logged as stuck and replaced.
+   *
+   * @param availabilityTtl  the time-to-live or {@link Duration#ZERO} to check the repositories on every call
+   */
+  public void setAvailabilityTtl(Duration availabilityTtl) {
+    retain();
+    if (availabilityTtl.isNegative()) {
+      throw new IllegalArgumentException("availabilityTtl < 0: " + availabilityTtl);
+    }
+    long nanos = availabilityTtl.toNanos();
+    availabilityTtlNanos = nanos;
+    if (nanos == 0) {
+      availabilityMonitor.clear();
+    }
+  }
+
+  /**
+   * Are repositories probed concurrently for availability?
+   *
+   * @see  #setParallelAvailability(boolean)
+   */
+  public boolean isParallelAvailability() {
+    return parallelAvailability;
+  }
+
+  /**
+   * Sets whether repositories are probed concurrently for availability, on the
+   * {@linkplain #setExecutor(java.util.concurrent.Executor) executor}.  Disabled by default.
+   *
+   * @see  #setAvailabilityTimeout(java.time.Duration)
+   */
+  public void setParallelAvailability(boolean parallelAvailability) {
+    retain();
+    this.parallelAvailability = parallelAvailability;
+  }
+
+  /**
+   * Gets how long availability probes wait for a repository without its own
+   * {@linkplain #setMemberTimeout(int, java.time.Duration) timeout} to answer.
+   *
+   * @return  the timeout or {@link Duration#ZERO} to wait indefinitely (the default)
+   *
+   * @see  #setAvailabilityTimeout(java.time.Duration)
+   */
+  public Duration getAvailabilityTimeout() {
+    return Duration.ofNanos(availabilityTimeoutNanos);
+  }
+
+  /**
+   * Sets how long availability probes wait for a repository without its own
+   * {@linkplain #setMemberTimeout(int, java.time.Duration) timeout} to answer.
+   * A repository that has not answered in time is considered unavailable.
+   *
+   * @param availabilityTimeout  the timeout or {@link Duration#ZERO} to wait indefinitely
+   *
+   * @see  #setParallelAvailability(boolean)
+   */
+  public void setAvailabilityTimeout(Duration availabilityTimeout) {
+    retain();
+    if (availabilityTimeout.isNegative()) {
+      throw new IllegalArgumentException("availabilityTimeout < 0: " + availabilityTimeout);
+    }
+    availabilityTimeoutNanos = availabilityTimeout.toNanos();
+  }
+
+  /**
+   * Gets how the availability of this union depends on the availability of its repositories.
+   *
+   * @see  #setAvailabilityPolicy(com.semanticcms.core.pages.union.AvailabilityPolicy)
+   */
+  public AvailabilityPolicy getAvailabilityPolicy() {
+    return availabilityPolicy;
+  }
+
+  /**
+   * Sets how the availability of this union depends on the availability of its repositories.
+   * Defaults to {@link AvailabilityPolicy#ALL}.
+   */
+  public void setAvailabilityPolicy(AvailabilityPolicy availabilityPolicy) {
+    retain();
+    this.availabilityPolicy = Objects.requireNonNull(availabilityPolicy);
+  }
+
+  /**
+   * Gets the number of repository lookups skipped because the repository was known to be unavailable.
+   *
+   * @see  AvailabilityPolicy#PARTIAL
+   */
+  public long getUnavailableSkips() {
+    return unavailableSkips.sum();
+  }
+
+  /**
+   * Gets the number of consecutive failures after which a repository's circuit opens.
+   *
+   * @return  the threshold or {@code 0} when circuit breakers are disabled (the default)
+   *
+   * @see  #setCircuitFailureThreshold(int)
+   */
+  public int getCircuitFailureThreshold() {
+    return circuitFailureThreshold;
+  }
+
+  /**
+   * Sets the number of consecutive failures after which a repository's circuit opens.
+   * A failure is any exception thrown by {@link PageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)},
+   * which is still thrown to the caller.  While open, the repository is skipped as if it does not have the page.
+   * After the {@linkplain #setCircuitOpenDuration(java.time.Duration) open duration}, a single trial lookup is allowed
+   * through: the circuit closes when it succeeds and opens again when it fails.
+   *
+   * @param circuitFailureThreshold  the threshold or {@code 0} to disable circuit breakers and close all circuits
+   *
+   * @see  CircuitState
+   */
+  public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+    retain();
+    if (circuitFailureThreshold < 0) {
+      throw new IllegalArgumentException("circuitFailureThreshold < 0: " + circuitFailureThreshold);
+    }
+    this.circuitFailureThreshold = circuitFailureThreshold;
+    if (circuitFailureThreshold == 0) {
+      for (CircuitBreaker circuitBreaker : circuitBreakers) {
+        circuitBreaker.reset();
+      }
+    }
+  }
+
+  /**
+   * Gets how long a circuit stays open before a trial lookup is allowed through.
+   *
+   * @see  #DEFAULT_CIRCUIT_OPEN_DURATION
+   */
+  public Duration getCircuitOpenDuration() {
+    return Duration.ofNanos(circuitOpenNanos);
+  }
+
+  /**
+   * Sets how long a circuit stays open before a trial lookup is allowed through.
+   *
+   * @see  #setCircuitFailureThreshold(int)
+   */
+  public void setCircuitOpenDuration(Duration circuitOpenDuration) {
+    retain();
+    if (circuitOpenDuration.isNegative()) {
+      throw new IllegalArgumentException("circuitOpenDuration < 0: " + circuitOpenDuration);
+    }
+    circuitOpenNanos = circuitOpenDuration.toNanos();
+  }
+
+  /**
+   * Gets the circuit state of each repository, in the same order as {@link #getRepositories()}.
+   */
+  public List<CircuitState> getCircuitStates() {
+    CircuitState[] states = new CircuitState[circuitBreakers.length];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = circuitBreakers[i].getState();
+    }
+    return AoCollections.optimalUnmodifiableList(Arrays.asList(states));
+  }
+
+  /**
+   * Gets the number of repository lookups skipped because the repository's circuit was open.
+   */
+  public long getCircuitOpenSkips() {
+    return circuitOpenSkips.sum();
+  }
+
+  /**
+   * Gets the timeout of each repository, in the same order as {@link #getRepositories()}.
+   *
+   * @return  the timeout of each repository, with {@link Duration#ZERO} for no timeout (the default)
+   *
+   * @see  #setMemberTimeout(int, java.time.Duration)
+   */
+  public List<Duration> getMemberTimeouts() {
+    Duration[] timeouts = new Duration[repositories.length];
+    for (int i = 0; i < timeouts.length; i++) {
+      timeouts[i] = Duration.ofNanos(memberTimeoutNanos.get(i));
+    }
+    return AoCollections.optimalUnmodifiableList(Arrays.asList(timeouts));
+  }
+
+  /**
+   * Sets the timeout of a repository for both {@link PageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}
+   * and {@link PageRepository#isAvailable()}.  A repository with a timeout is called on the
+   * {@linkplain #setExecutor(java.util.concurrent.Executor) executor} while the caller waits up to the timeout.
+   *
+   * <p>A lookup that times out is cancelled and handled according to the
+   * {@linkplain #setTimeoutPolicy(com.semanticcms.core.pages.union.TimeoutPolicy) timeout policy}, and counts as a
+   * failure for the repository's circuit breaker.  An availability probe that times out is considered
+   * unavailable.</p>
+   *
+   * @param member  the index of the repository, in the same order as {@link #getRepositories()}
+   * @param timeout  the timeout or {@link Duration#ZERO} for no timeout
+   */
+  public void setMemberTimeout(int member, Duration timeout) {
+    retain();
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException("timeout < 0: " + timeout);
+    }
+    memberTimeoutNanos.set(member, timeout.toNanos());
+  }
+
+  /**
+   * Sets the same timeout for all repositories.
+   *
+   * @param timeout  the timeout or {@link Duration#ZERO} for no timeout
+   *
+   * @see  #setMemberTimeout(int, java.time.Duration)
+   */
+  public void setMemberTimeout(Duration timeout) {
+    retain();
+    for (int i = 0; i < repositories.length; i++) {
+      setMemberTimeout(i, timeout);
+    }
+  }
+
+  /**
+   * Gets what is done when a repository lookup times out.
+   *
+   * @see  #setTimeoutPolicy(com.semanticcms.core.pages.union.TimeoutPolicy)
+   */
+  public TimeoutPolicy getTimeoutPolicy() {
+    return timeoutPolicy;
+  }
+
+  /**
+   * Sets what is done when a repository lookup times out.  Defaults to {@link TimeoutPolicy#FAIL}.
+   */
+  public void setTimeoutPolicy(TimeoutPolicy timeoutPolicy) {
+    retain();
+    this.timeoutPolicy = Objects.requireNonNull(timeoutPolicy);
+  }
+
+  /**
+   * Gets the number of lookups and availability probes that timed out for each repository, in the same order as
+   * {@link #getRepositories()}.
+   */
+  public List<Long> getMemberTimeoutCounts() {
+    Long[] counts = new Long[repositories.length];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = memberTimeoutCounts[i].sum();
+    }
+    return AoCollections.optimalUnmodifiableList(Arrays.asList(counts));
+  }
+
+  /**
+   * Gets the number of lookups with a deadline that were abandoned because the deadline passed.
+   *
+   * @see  #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel, java.time.Instant)
+   */
+  public long getDeadlinesExceeded() {
+    return deadlinesExceeded.sum();
+  }
+
+  /**
+   * Gets the limit of concurrent lookups in each repository, in the same order as {@link #getRepositories()}.
+   *
+   * @return  the limit of each repository, with {@code 0} for no limit (the default)
+   *
+   * @see  #setBulkheadLimit(int, int)
+   */
+  public List<Integer> getBulkheadLimits() {
+    Integer[] limits = new Integer[repositories.length];
+    for (int i = 0; i < limits.length; i++) {
+      Bulkhead bulkhead = bulkheads.get(i);
+      limits[i] = (bulkhead == null) ? 0 : bulkhead.limit;
+    }
+    return AoCollections.optimalUnmodifiableList(Arrays.asList(limits));
+  }
+
+  /**
+   * Limits the number of concurrent calls to {@link PageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}
+   * of a repository, so a slow repository cannot tie up every thread performing lookups.  A lookup beyond the limit is
+   * handled according to the {@linkplain #setBulkheadPolicy(com.semanticcms.core.pages.union.BulkheadPolicy) bulkhead
+   * policy}.
+   *
+   * <p>Lookups already in-flight when the limit is changed are not counted against the new limit.</p>
+   *
+   * @param member  the index of the repository, in the same order as {@link #getRepositories()}
+   * @param limit  the limit or {@code 0} for no limit
+   */
+  public void setBulkheadLimit(int member, int limit) {
+    retain();
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit < 0: " + limit);
+    }
+    Bulkhead bulkhead = bulkheads.get(member);
+    if (limit != ((bulkhead == null) ? 0 : bulkhead.limit)) {
+      bulkheads.set(member, (limit == 0) ? null : new Bulkhead(limit));
+    }
+  }
+
+  /**
+   * Sets the same limit of concurrent lookups for all repositories.
+   *
+   * @param limit  the limit or {@code 0} for no limit
+   *
+   * @see  #setBulkheadLimit(int, int)
+   */
+  public void setBulkheadLimit(int limit) {
+    retain();
+    for (int i = 0; i < repositories.length; i++) {
+      setBulkheadLimit(i, limit);
+    }
+  }
+
+  /**
+   * Gets what is done when a repository is at its bulkhead limit.
+   *
+   * @see  #setBulkheadPolicy(com.semanticcms.core.pages.union.BulkheadPolicy)
+   */
+  public BulkheadPolicy getBulkheadPolicy() {
+    return bulkheadPolicy;
+  }
+
+  /**
+   * Sets what is done when a repository is at its bulkhead limit.  Defaults to {@link BulkheadPolicy#WAIT}.
+   */
+  public void setBulkheadPolicy(BulkheadPolicy bulkheadPolicy) {
+    retain();
+    this.bulkheadPolicy = Objects.requireNonNull(bulkheadPolicy);
+  }
+
+  /**
+   * Gets how long a lookup waits for a repository at its bulkhead limit under {@link BulkheadPolicy#WAIT}.
+   *
+   * @return  the wait or {@link Duration#ZERO} to wait indefinitely
+   *
+   * @see  #setBulkheadWait(java.time.Duration)
+   */
+  public Duration getBulkheadWait() {
+    return Duration.ofNanos(bulkheadWaitNanos);
+  }
+
+  /**
+   * Sets how long a lookup waits for a repository at its bulkhead limit under {@link BulkheadPolicy#WAIT}.
+   * Defaults to {@link #DEFAULT_BULKHEAD_WAIT}.
+   *
+   * @param bulkheadWait  the wait or {@link Duration#ZERO} to wait indefinitely
+   */
+  public void setBulkheadWait(Duration bulkheadWait) {
+    retain();
+    if (bulkheadWait.isNegative()) {
+      throw new IllegalArgumentException("bulkheadWait < 0: " + bulkheadWait);
+    }
+    this.bulkheadWaitNanos = bulkheadWait.toNanos();
+  }
+
+  /**
+   * Gets the number of lookups turned away by the bulkhead of each repository, in the same order as
+   * {@link #getRepositories()}.
+   */
+  public List<Long> getBulkheadRejections() {
+    Long[] counts = new Long[repositories.length];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = bulkheadRejections[i].sum();
+    }
+    return AoCollections.optimalUnmodifiableList(Arrays.asList(counts));
+  }
+
+  /**
+   * Adds a listener to be notified of lookups in this union.  Adding the same listener again has no effect.
+   *
+   * <p>Listeners are notified of each repository consulted by every lookup, and of the completion of each
+   * {@link #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)} and
+   * {@link #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel, java.time.Instant)}.  When no
+   * listeners are added, lookups do not pay for any notifications.</p>
+   */
+  public void addLookupListener(LookupListener listener) {
+    retain();
+    Objects.requireNonNull(listener);
+    synchronized (listenersLock) {
+      LookupListener[] ls = listeners;
+      for (LookupListener l : ls) {
+        if (l == listener) {
+          return;
+        }
+      }
+      LookupListener[] newListeners = Arrays.copyOf(ls, ls.length + 1);
+      newListeners[ls.length] = listener;
+      listeners = newListeners;
+    }
+  }
+
+  /**
+   * Removes a listener.  Does nothing when the listener is not added.
+   *
+   * @see  #addLookupListener(com.semanticcms.core.pages.union.LookupListener)
+   */
+  public void removeLookupListener(LookupListener listener) {
+    synchronized (listenersLock) {
+      LookupListener[] ls = listeners;
+      for (int i = 0; i < ls.length; i++) {
+        if (ls[i] == listener) {
+          if (ls.length == 1) {
+            listeners = NO_LISTENERS;
+          } else {
+            LookupListener[] newListeners = new LookupListener[ls.length - 1];
+            System.arraycopy(ls, 0, newListeners, 0, i);
+            System.arraycopy(ls, i + 1, newListeners, i, ls.length - i - 1);
+            listeners = newListeners;
+          }
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the per-repository metrics of this union.  Metrics are always recorded, without locking.
+   *
+   * @see  #registerMetrics()
+   */
+  public UnionMetricsMXBean getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Publishes the {@linkplain #getMetrics() metrics} of this union to the platform MBean server, named after
+   * {@link #toString()} with an {@code id} unique within the JVM, since distinct unions may have the same name.
+   * Registering again while registered has no effect.
+   *
+   * <p>Registering the metrics retains this union, like any other configuration, until {@link #release()}.</p>
+   *
+   * @return  the name the metrics are registered under
+   */
+  public ObjectName registerMetrics() throws JMException {
+    retain();
+    synchronized (metricsLock) {
+      if (metricsName == null) {
+        ObjectName name = new ObjectName(
+            UnionPageRepository.class.getPackage().getName()
+                + ":type=" + UnionPageRepository.class.getSimpleName()
+                + ",name=" + ObjectName.quote(toString())
+                + ",id=" + metricsSequence.incrementAndGet()
+        );
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+        metricsName = name;
+      }
+      return metricsName;
+    }
+  }
+
+  /**
+   * Removes the metrics of this union from the platform MBean server.  Does nothing when not registered.
+   *
+   * @see  #registerMetrics()
+   */
+  public void unregisterMetrics() throws JMException {
+    synchronized (metricsLock) {
+      if (metricsName != null) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(metricsName)) {
+          server.unregisterMBean(metricsName);
+        }
+        metricsName = null;
+      }
+    }
+  }
+
+  /**
+   * Holds this union strongly in the registry of {@link #getInstance(com.semanticcms.core.pages.PageRepository...)},
+   * so its configuration is never silently lost to garbage collection.
+   */
+  private void retain() {
+    configured = true;
+    unionRepositories.retain(UnionKey.wrap(repositories), this);
+  }
+
+  /**
+   * Releases this union once configured, {@linkplain #unregisterMetrics() unregistering its metrics}.  The union keeps
+   * its settings while still referenced, but is no longer held by
+   * {@link #getInstance(com.semanticcms.core.pages.PageRepository...)}: once no longer referenced elsewhere, it is
+   * released, and a new union repository with default settings is created on the next request.
+   * Changing a setting again retains the union again.
+   *
+   * @see  #getInstance(com.semanticcms.core.pages.PageRepository...)
+   */
+  public void release() throws JMException {
+    unregisterMetrics();
+    unionRepositories.release(UnionKey.wrap(repositories), this);
+  }
+
+  /**
+   * Gets when the cached availability was last refreshed.
+   *
+   * @return  the time of the last refresh or {@code null} when availability has not been cached
+   */
+  public Instant getAvailabilityRefreshed() {
+    AvailabilityMonitor.Status status = availabilityMonitor.getLastStatus();
+    return (status == null) ? null : Instant.ofEpochMilli(status.refreshedMillis);
+  }
+
+  /**
+   * Gets the cached availability of each repository, in the same order as {@link #getRepositories()}.
+   * A repository that threw an exception from {@link PageRepository#isAvailable()} is reported unavailable.
+   *
+   * @return  the availability of each repository or an empty list when availability has not been cached
+   */
+  public List<Boolean> getRepositoryAvailability() {
+    AvailabilityMonitor.Status status = availabilityMonitor.getLastStatus();
+    if (status == null) {
+      return Collections.emptyList();
+    }
+    Boolean[] available = new Boolean[repositories.length];
+    for (int i = 0; i < available.length; i++) {
+      available[i] = status.isAvailable(i);
+    }
+    return AoCollections.optimalUnmodifiableList(Arrays.asList(available));
+  }
+
+  /**
+   * Gets the availability status, probing the repositories when not cached.
+   */
+  private AvailabilityMonitor.Status getAvailabilityStatus(long ttlNanos) {
+    return availabilityMonitor.getStatus(ttlNanos, resolveExecutor());
+  }
+
+  /**
+   * Probes the availability of every repository, without caching.
+   */
+  private boolean[] probeAvailability() {
+    long defaultTimeout = availabilityTimeoutNanos;
+    return AvailabilityMonitor.probe(
+        repositories,
+        parallelAvailability,
+        resolveExecutor(),
+        member -> {
+          long timeout = memberTimeoutNanos.get(member);
+          return (timeout == 0) ? defaultTimeout : timeout;
+        },
+        member -> memberTimeoutCounts[member].increment()
+    );
+  }
+
+  /**
+   * Checks if any availability probe has a timeout.
+   */
+  private boolean hasAvailabilityTimeout() {
+    if (availabilityTimeoutNanos != 0) {
+      return true;
+    }
+    for (int i = 0; i < repositories.length; i++) {
+      if (memberTimeoutNanos.get(i) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Available when all repositories are available, or under {@link AvailabilityPolicy#PARTIAL}, when any repository
+   * is available.
+   * When {@linkplain #setAvailabilityTtl(java.time.Duration) availability is cached}, the cached availability is
+   * returned.  When {@linkplain #setParallelAvailability(boolean) probing concurrently}, all repositories are probed
+   * at once.
+   */
+  @Override
+  public boolean isAvailable() {
+    boolean partial = availabilityPolicy == AvailabilityPolicy.PARTIAL;
+    long ttlNanos = availabilityTtlNanos;
+    if (ttlNanos != 0) {
+      AvailabilityMonitor.Status status = getAvailabilityStatus(ttlNanos);
+      return partial ? status.anyAvailable : status.allAvailable;
+    }
+    if (parallelAvailability || hasAvailabilityTimeout()) {
+      for (boolean available : probeAvailability()) {
+        if (available == partial) {
+          return partial;
+        }
+      }
+      return !partial;
+    }
+    for (PageRepository repository : repositories) {
+      if (repository.isAvailable() == partial) {
+        return partial;
+      }
+    }
+    return !partial;
+  }
+
+  /**
+   * Is any repository unavailable while this union is still available?
+   * This can only happen under {@link AvailabilityPolicy#PARTIAL}.
+   * When {@linkplain #setAvailabilityTtl(java.time.Duration) availability is cached}, the cached availability is used.
+   */
+  public boolean isDegraded() {
+    if (availabilityPolicy != AvailabilityPolicy.PARTIAL) {
+      return false;
+    }
+    long ttlNanos = availabilityTtlNanos;
+    if (ttlNanos != 0) {
+      AvailabilityMonitor.Status status = getAvailabilityStatus(ttlNanos);
+      return status.anyAvailable && !status.allAvailable;
+    }
+    boolean any = false;
+    boolean all = true;
+    for (boolean available : probeAvailability()) {
+      if (available) {
+        any = true;
+      } else {
+        all = false;
+      }
+    }
+    return any && !all;
+  }
+
+  /**
+   * Looks up a page in a single repository, applying the per-repository policies and waiting no longer than the
+   * remaining time before the deadline of the lookup.  Notifies the listeners of the lookup and records a
+   * {@link MemberProbeEvent} when enabled.  A repository treated as not having the page without being searched is
+   * recorded in the context, so the result of the lookup is not cached.
+   *
+   * @see  MemberProbe
+   *
+   * @throws  DeadlineExceededException  when the deadline has passed before or during the lookup in the repository
+   */
+  private Page probe(int member, Path path, CaptureLevel captureLevel, LookupContext context) throws IOException {
+    Deadline deadline = context.deadline;
+    LookupListener[] ls = context.listeners;
+    if (deadline != null && deadline.remainingNanos() <= 0) {
+      throw deadline.exceeded(path);
+    }
+    if (availabilityPolicy == AvailabilityPolicy.PARTIAL) {
+      long ttlNanos = availabilityTtlNanos;
+      if (ttlNanos != 0 && !getAvailabilityStatus(ttlNanos).isAvailable(member)) {
+        unavailableSkips.increment();
+        context.unsearched(member);
+        afterProbe(ls, member, path, captureLevel, ProbeOutcome.SKIPPED, 0);
+        return null;
+      }
+    }
+    int failureThreshold = circuitFailureThreshold;
+    CircuitBreaker circuitBreaker = circuitBreakers[member];
+    if (failureThreshold != 0 && !circuitBreaker.allowRequest(System.nanoTime(), circuitOpenNanos)) {
+      circuitOpenSkips.increment();
+      context.unsearched(member);
+      afterProbe(ls, member, path, captureLevel, ProbeOutcome.SKIPPED, 0);
+      return null;
+    }
+    Bulkhead bulkhead = bulkheads.get(member);
+    if (bulkhead != null) {
+      boolean acquired;
+      try {
+        acquired = acquire(bulkhead, member, path, deadline);
+      } catch (IOException e) {
+        if (failureThreshold != 0) {
+          circuitBreaker.onCancelled();
+        }
+        afterProbe(
+            ls,
+            member,
+            path,
+            captureLevel,
+            (e instanceof DeadlineExceededException) ? ProbeOutcome.TIMEOUT : ProbeOutcome.ERROR,
+            0
+        );
+        throw e;
+      }
+      if (!acquired) {
+        if (failureThreshold != 0) {
+          circuitBreaker.onCancelled();
+        }
+        context.unsearched(member);
+        afterProbe(ls, member, path, captureLevel, ProbeOutcome.SKIPPED, 0);
+        return null;
+      }
+    }
+    TimeoutPolicy policy = timeoutPolicy;
+    MemberProbeEvent event = Events.isMemberProbeEnabled() ? new MemberProbeEvent() : null;
+    boolean observed = ls.length != 0 || event != null;
+    long start = 0;
+    ProbeOutcome outcome = ProbeOutcome.ERROR;
+    Throwable error = null;
+    // Once called, the permit is released when the repository call itself finishes
+    boolean called = false;
+    try {
+      if (observed) {
+        beforeProbe(ls, member, path, captureLevel);
+        if (event != null) {
+          event.begin();
+        }
+        start = System.nanoTime();
+      }
+      called = true;
+      Page page = call(member, path, captureLevel, deadline, failureThreshold, circuitBreaker, bulkhead, policy);
+      outcome = (page == null) ? ProbeOutcome.MISS : ProbeOutcome.HIT;
+      return page;
+    } catch (MemberTimeoutException e) {
+      outcome = ProbeOutcome.TIMEOUT;
+      if (policy == TimeoutPolicy.MISS) {
+        context.unsearched(member);
+        return null;
+      }
+      error = e;
+      throw e;
+    } catch (DeadlineExceededException e) {
+      outcome = ProbeOutcome.TIMEOUT;
+      error = e;
+      throw e;
+    } catch (IOException | RuntimeException | Error e) {
+      error = e;
+      throw e;
+    } finally {
+      if (bulkhead != null && !called) {
+        bulkhead.release();
+      }
+      if (observed) {
+        long nanos = System.nanoTime() - start;
+        if (event != null) {
+          event.end();
+          if (event.shouldCommit()) {
+            event.member = member;
+            event.repository = repositories[member].toString();
+            event.path = path.toString();
+            event.captureLevel = captureLevel.name();
+            event.outcome = (outcome == ProbeOutcome.ERROR && error != null)
+                ? error.getClass().getName()
+                : outcome.name().toLowerCase(Locale.ROOT);
+            event.commit();
+          }
+        }
+        afterProbe(ls, member, path, captureLevel, outcome, nanos);
+      }
+    }
+  }
+
+  /**
+   * Notifies listeners before calling a member.  An exception from a listener is logged and does not affect the lookup
+   * or the other listeners.
+   */
+  private static void beforeProbe(LookupListener[] ls, int member, Path path, CaptureLevel captureLevel) {
+    for (LookupListener listener : ls) {
+      try {
+        listener.beforeProbe(member, path, captureLevel);
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "Lookup listener failed: " + listener, e);
+      }
+    }
+  }
+
+  /**
+   * Notifies listeners after consulting a member.  An exception from a listener is logged and does not affect the
+   * lookup or the other listeners.
+   */
+  private static void afterProbe(
+      LookupListener[] ls,
+      int member,
+      Path path,
+      CaptureLevel captureLevel,
+      ProbeOutcome outcome,
+      long nanos
+  ) {
+    for (LookupListener listener : ls) {
+      try {
+        listener.afterProbe(member, path, captureLevel, outcome, nanos);
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "Lookup listener failed: " + listener, e);
+      }
+    }
+  }
+
+  /**
+   * Acquires a permit from the bulkhead of a repository, according to the current {@link BulkheadPolicy}.
+   *
+   * @return  {@code true} when acquired or {@code false} when the repository is to be treated as not having the page
+   *
+   * @throws  BulkheadFullException  when the repository is full under {@link BulkheadPolicy#WAIT} or
+   *                                 {@link BulkheadPolicy#FAIL}
+   * @throws  DeadlineExceededException  when the deadline passed while waiting
+   */
+  private boolean acquire(Bulkhead bulkhead, int member, Path path, Deadline deadline) throws IOException {
+    if (bulkhead.tryAcquire()) {
+      return true;
+    }
+    BulkheadPolicy policy = bulkheadPolicy;
+    if (policy == BulkheadPolicy.WAIT) {
+      long wait = bulkheadWaitNanos;
+      long remaining = (deadline == null) ? 0 : Math.max(1, deadline.remainingNanos());
+      // The remaining time before the deadline bounds the wait when shorter
+      boolean deadlineBound = deadline != null && (wait == 0 || remaining < wait);
+      if (bulkhead.tryAcquire(deadlineBound ? remaining : wait)) {
+        return true;
+      }
+      if (deadlineBound) {
+        throw deadline.exceeded(path);
+      }
+    }
+    bulkheadRejections[member].increment();
+    if (policy == BulkheadPolicy.MISS) {
+      return false;
+    }
+    throw new BulkheadFullException(
+        "Bulkhead full at " + bulkhead.limit + " concurrent lookups looking up " + path + " in member " + member + ": "
+            + repositories[member],
+        member,
+        bulkhead.limit
+    );
+  }
+
+  /**
+   * Calls a single repository once admitted by its circuit breaker and bulkhead, applying its timeout.
+   *
+   * @param bulkhead  the bulkhead a permit was acquired from or {@code null} for none.  The permit is released once the
+   *                  repository call finishes, which is after this method returns when the call times out but keeps
+   *                  running, so a repository that ignores interrupts still cannot exceed its limit.
+   *
+   * @throws  MemberTimeoutException  when the repository times out, under either {@link TimeoutPolicy}
+   */
+  private Page call(
+      int member,
+      Path path,
+      CaptureLevel captureLevel,
+      Deadline deadline,
+      int failureThreshold,
+      CircuitBreaker circuitBreaker,
+      Bulkhead bulkhead,
+      TimeoutPolicy policy
+  ) throws IOException {
+    long remaining;
+    if (deadline == null) {
+      remaining = 0;
+    } else {
+      remaining = deadline.remainingNanos();
+      if (remaining <= 0) {
+        if (bulkhead != null) {
+          bulkhead.release();
+        }
+        if (failureThreshold != 0) {
+          circuitBreaker.onCancelled();
+        }
+        throw deadline.exceeded(path);
+      }
+    }
+    long start = System.nanoTime();
+    long timeout = memberTimeoutNanos.get(member);
+    // The remaining time before the deadline bounds the repository when shorter than its own timeout
+    boolean deadlineBound = deadline != null && (timeout == 0 || remaining < timeout);
+    Page page;
+    try {
+      if (deadlineBound) {
+        page = getPageWithTimeout(repositories[member], path, captureLevel, remaining, bulkhead);
+      } else if (timeout == 0) {
+        try {
+          page = repositories[member].getPage(path, captureLevel);
+        } finally {
+          if (bulkhead != null) {
+            bulkhead.release();
+          }
+        }
+      } else {
+        page = getPageWithTimeout(repositories[member], path, captureLevel, timeout, bulkhead);
+      }
+    } catch (TimeoutException e) {
+      if (deadlineBound) {
+        // Out of time for the lookup, not a failure of the repository
+        if (failureThreshold != 0) {
+          circuitBreaker.onCancelled();
+        }
+        metrics.recordException(member, captureLevel, System.nanoTime() - start);
+        throw deadline.exceeded(path);
+      }
+      memberTimeoutCounts[member].increment();
+      recordLatency(member, timeout);
+      if (failureThreshold != 0) {
+        circuitBreaker.onFailure(System.nanoTime(), failureThreshold);
+      }
+      if (policy == TimeoutPolicy.MISS) {
+        metrics.recordResult(member, captureLevel, false, timeout);
+      } else {
+        metrics.recordException(member, captureLevel, timeout);
+      }
+      Duration d = Duration.ofNanos(timeout);
+      throw new MemberTimeoutException(
+          "Timeout after " + d + " looking up " + path + " in member " + member + ": " + repositories[member],
+          member,
+          d
+      );
+    } catch (IOException | RuntimeException | Error e) {
+      // Errors are failures too, so a half-open trial always resolves
+      metrics.recordException(member, captureLevel, System.nanoTime() - start);
+      if (failureThreshold != 0) {
+        if (e instanceof InterruptedIOException || Thread.currentThread().isInterrupted()) {
+          // Cancelled, not a failure of the repository
+          circuitBreaker.onCancelled();
+        } else {
+          circuitBreaker.onFailure(System.nanoTime(), failureThreshold);
+        }
+      }
+      throw e;
+    }
+    long elapsed = System.nanoTime() - start;
+    recordLatency(member, elapsed);
+    metrics.recordResult(member, captureLevel, page != null, elapsed);
+    if (failureThreshold != 0) {
+      circuitBreaker.onSuccess();
+    }
+    return page;
+  }
+
+  /**
+   * Looks up a page on the executor, waiting up to the given timeout.  The lookup is cancelled when it times out or
+   * the calling thread is interrupted.
+   *
+   * @param bulkhead  the bulkhead to release a permit to once the lookup finishes, or when cancelled before it
+   *                  started, or {@code null} for none
+   */
+  private Page getPageWithTimeout(
+      PageRepository repository,
+      Path path,
+      CaptureLevel captureLevel,
+      long timeoutNanos,
+      Bulkhead bulkhead
+  ) throws IOException, TimeoutException {
+    FutureTask<Page> task;
+    // Claimed by whichever comes first: the lookup starting or being cancelled before it started
+    AtomicBoolean claimed;
+    if (bulkhead == null) {
+      task = new FutureTask<>(() -> repository.getPage(path, captureLevel));
+      claimed = null;
+    } else {
+      AtomicBoolean c = new AtomicBoolean();
+      task = new FutureTask<>(() -> {
+        if (!c.compareAndSet(false, true)) {
+          return null;
+        }
+        try {
+          return repository.getPage(path, captureLevel);
+        } finally {
+          bulkhead.release();
+        }
+      });
+      claimed = c;
+    }
+    try {
+      resolveExecutor().execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+    try {
+      return task.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      cancel(task, claimed, bulkhead);
+      throw Futures.interrupted(e);
+    } catch (ExecutionException e) {
+      throw Futures.unwrap(e);
+    } catch (TimeoutException e) {
+      cancel(task, claimed, bulkhead);
+      throw e;
+    }
+  }
+
+  /**
+   * Cancels a lookup started by {@link #getPageWithTimeout(com.semanticcms.core.pages.PageRepository, com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel, long, com.semanticcms.core.pages.union.Bulkhead)},
+   * releasing its permit only when it never started.  A lookup already running releases its own permit when it
+   * finishes.
+   */
+  private static void cancel(FutureTask<Page> task, AtomicBoolean claimed, Bulkhead bulkhead) {
+    task.cancel(true);
+    if (claimed != null && claimed.compareAndSet(false, true)) {
+      bulkhead.release();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p><b>Implementation Note:</b><br>
+   * Searches all repositories in-order, returning the first one that returns non-null from {@link PageRepository#getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}.
+   * When {@linkplain #setRoutingTtl(java.time.Duration) routing is enabled}, the member that last provided the path
+   * is tried first.  When {@linkplain #setNegativeCacheTtl(java.time.Duration) the negative cache is enabled},
+   * recent misses return {@code null} without searching any repository.  Under {@link LookupPolicy#PARALLEL}, all
+   * repositories are searched concurrently, and under {@link LookupPolicy#HEDGED}, later repositories are started
+   * early when an earlier repository is slow, but the page from the first repository in order is still returned.
+   * When {@linkplain #setCoalescing(boolean) coalescing is enabled}, concurrent lookups of the same path and capture
+   * level share a single search.  When {@linkplain #setPageCacheTtl(java.time.Duration) the page cache is enabled},
+   * a page recently found at the same or a higher capture level is returned without searching any repository.
+   * Under {@link AvailabilityPolicy#PARTIAL}, repositories known to be unavailable are skipped, and when
+   * {@linkplain #setCircuitFailureThreshold(int) circuit breakers are enabled}, repositories with an open circuit are
+   * skipped.  A repository with a {@linkplain #setMemberTimeout(int, java.time.Duration) timeout} that does not
+   * answer in time either fails the lookup or is treated as not having the page, according to the
+   * {@linkplain #setTimeoutPolicy(com.semanticcms.core.pages.union.TimeoutPolicy) timeout policy}.  A repository at
+   * its {@linkplain #setBulkheadLimit(int, int) bulkhead limit} is waited for, skipped, or fails the lookup,
+   * according to the {@linkplain #setBulkheadPolicy(com.semanticcms.core.pages.union.BulkheadPolicy) bulkhead
+   * policy}.  A result that depends on a repository skipped, turned away by its bulkhead, or treated as not having
+   * the page after timing out is not recorded in the caches or routing index, since it might have been different had
+   * the repository answered.</p>
+   *
+   * @return  the first page found or {@code null} when the page does not exist in any repository
+   */
+  @Override
+  public Page getPage(Path path, CaptureLevel captureLevel) throws IOException {
+    return getPage(path, captureLevel, null, null);
+  }
+
+  /**
+   * Looks up a page, abandoning the search once the given deadline passes.  This has the same result as
+   * {@link #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)} when the search completes in time.
+   *
+   * <p>Each repository is given the time remaining before the deadline, or its own
+   * {@linkplain #setMemberTimeout(int, java.time.Duration) timeout} when shorter.  Once the deadline passes, any
+   * repository lookups still running are cancelled and {@link DeadlineExceededException} is thrown, allowing the
+   * caller to distinguish an incomplete search from a page that does not exist.</p>
+   *
+   * <p>Lookups answered by the page cache or negative cache are returned even when the deadline has already passed.
+   * When {@linkplain #setCoalescing(boolean) coalescing is enabled}, a search already in-flight is shared, waiting no
+   * longer than the deadline, but a new search is not shared with other callers, since its deadline would
+   * fail them too.</p>
+   *
+   * @param deadline  the time by which the lookup must complete
+   *
+   * @return  the first page found or {@code null} when the page does not exist in any repository
+   *
+   * @throws  DeadlineExceededException  when the deadline passed before the search completed
+   */
+  public Page getPage(Path path, CaptureLevel captureLevel, Instant deadline) throws IOException {
+    Objects.requireNonNull(captureLevel);
+    try {
+      return getPage(path, captureLevel, new Deadline(deadline), null);
+    } catch (DeadlineExceededException e) {
+      deadlinesExceeded.increment();
+      throw e;
+    }
+  }
+
+  /**
+   * Looks up a page, notifying any listeners and recording a {@link LookupEvent} when enabled.
+   * Without a deadline, listeners, a recording of the event, or any policy that may leave members unsearched, nothing
+   * is allocated for the lookup itself.
+   *
+   * @param deadline  the deadline of the lookup or {@code null} for none
+   * @param tracer  records the lookup for {@link #explain(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}
+   *                or {@code null} when not explaining
+   */
+  private Page getPage(Path path, CaptureLevel captureLevel, Deadline deadline, Tracer tracer) throws IOException {
+    LookupListener[] ls = listeners;
+    if (tracer != null) {
+      ls = Arrays.copyOf(ls, ls.length + 1);
+      ls[ls.length - 1] = tracer;
+    }
+    boolean recorded = Events.isLookupEnabled();
+    if (ls.length == 0 && !recorded && deadline == null && !isTracking()) {
+      return getPage(path, captureLevel, LookupContext.UNTRACKED, untrackedProbe, null);
+    }
+    LookupContext context = new LookupContext(deadline, ls);
+    MemberProbe probe = (member, p, level) -> probe(member, p, level, context);
+    if (ls.length == 0 && !recorded) {
+      return getPage(path, captureLevel, context, probe, null);
+    }
+    CountingProbe counting = new CountingProbe(probe);
+    LookupEvent event = recorded ? new LookupEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
+    long start = System.nanoTime();
+    Page page = null;
+    Throwable error = null;
+    try {
+      page = getPage(path, captureLevel, context, counting, tracer);
+      return page;
+    } catch (IOException | RuntimeException | Error e) {
+      error = e;
+      throw e;
+    } finally {
+      long nanos = System.nanoTime() - start;
+      if (event != null) {
+        event.end();
+        if (event.shouldCommit()) {
+          event.path = path.toString();
+          event.captureLevel = captureLevel.name();
+          event.member = counting.getFound();
+          event.membersProbed = counting.getProbed();
+          event.commit();
+        }
+      }
+      for (LookupListener listener : ls) {
+        try {
+          listener.onLookupComplete(path, captureLevel, page != null, counting.getFound(), error, nanos);
+        } catch (RuntimeException e) {
+          logger.log(Level.WARNING, "Lookup listener failed: " + listener, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks whether any policy that may leave members unsearched is enabled, requiring each lookup to track its own
+   * unsearched members.  A policy enabled while a lookup sharing {@link LookupContext#UNTRACKED} is in progress applies
+   * to its caching from the next lookup.
+   */
+  private boolean isTracking() {
+    return availabilityPolicy == AvailabilityPolicy.PARTIAL
+        || circuitFailureThreshold != 0
+        || bulkheadPolicy == BulkheadPolicy.MISS
+        || timeoutPolicy == TimeoutPolicy.MISS;
+  }
+
+  /**
+   * Looks up a page from the caches or by searching the members with the given probe.
+   *
+   * @param context  the state of the lookup, shared by the probes of its members
+   * @param tracer  records the lookup or {@code null} when not explaining.  A traced lookup never shares a search,
+   *                so every member it consults is recorded.
+   */
+  private Page getPage(
+      Path path,
+      CaptureLevel captureLevel,
+      LookupContext context,
+      MemberProbe probe,
+      Tracer tracer
+  ) throws IOException {
+    long pageTtlNanos = pageCacheTtlNanos;
+    long negativeTtlNanos = negativeCacheTtlNanos;
+    boolean coalesce = coalescing && tracer == null;
+    if (pageTtlNanos == 0 && negativeTtlNanos == 0 && !coalesce) {
+      return lookup(path, captureLevel, context, probe, tracer);
+    }
+    if (pageTtlNanos != 0) {
+      CachedPage cached = pageCache.get(path, System.nanoTime());
+      if (cached != null && cached.satisfies(captureLevel)) {
+        pageCacheHits.increment();
+        if (tracer != null) {
+          tracer.shortCircuit(LookupTrace.ShortCircuit.PAGE_CACHE);
+        }
+        return cached.page;
+      }
+    }
+    PageKey key = new PageKey(path, captureLevel);
+    if (negativeTtlNanos != 0 && negativeCache.get(key, System.nanoTime()) != null) {
+      negativeCacheHits.increment();
+      if (tracer != null) {
+        tracer.shortCircuit(LookupTrace.ShortCircuit.NEGATIVE_CACHE);
+      }
+      return null;
+    }
+    if (!coalesce) {
+      return lookup(path, captureLevel, context, probe, tracer);
+    }
+    Deadline deadline = context.deadline;
+    if (deadline == null) {
+      return singleFlight.get(key, () -> lookup(path, captureLevel, context, probe, null));
+    }
+    // A new search with a deadline is not shared, since its deadline would fail the other callers
+    CompletableFuture<Page> inFlight = singleFlight.getInFlight(key);
+    if (inFlight != null) {
+      try {
+        return deadline.await(inFlight, path);
+      } catch (IOException | RuntimeException e) {
+        if (!SingleFlight.isAbandoned(inFlight)) {
+          throw e;
+        }
+        // The shared search was interrupted or cancelled, search without it
+      }
+    }
+    return lookup(path, captureLevel, context, probe, null);
+  }
+
+  /**
+   * Looks up a page as {@link #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)} would, tracing
+   * each member consulted with its outcome and timing, and any cache or routing index that answered the lookup.
+   * Intended as a tool for tuning the order of the repositories and the cache settings.
+   *
+   * <p>The lookup is performed for real: it uses and updates the caches and routing index, is visible to
+   * {@linkplain #addLookupListener(com.semanticcms.core.pages.union.LookupListener) listeners}, and is counted in the
+   * metrics.  It never shares a search with concurrent lookups, even when
+   * {@linkplain #setCoalescing(boolean) coalescing is enabled}, so every repository consulted is traced.</p>
+   *
+   * @return  the trace, including any exception that failed the lookup
+   */
+  public LookupTrace explain(Path path, CaptureLevel captureLevel) {
+    Objects.requireNonNull(captureLevel);
+    Tracer tracer = new Tracer(repositories);
+    try {
+      getPage(path, captureLevel, null, tracer);
+    } catch (IOException | RuntimeException e) {
+      // Recorded by the tracer
+    }
+    return tracer.toTrace(path, captureLevel);
+  }
+
+  /**
+   * Records the result of a search of the members in the page cache or negative cache, when enabled.
+   */
+  private void cacheResult(Path path, CaptureLevel captureLevel, Page page) {
+    long pageTtlNanos = pageCacheTtlNanos;
+    long negativeTtlNanos = negativeCacheTtlNanos;
+    if (page != null) {
+      if (pageTtlNanos != 0) {
+        pageCache.put(
+            path,
+            new CachedPage(captureLevel, page),
+            System.nanoTime(),
+            pageTtlNanos,
+            pageCacheMaxEntries,
+            (existing, replacement) -> replacement.captureLevel.compareTo(existing.captureLevel) >= 0
+        );
+      }
+    } else if (negativeTtlNanos != 0) {
+      negativeCache.put(
+          new PageKey(path, captureLevel),
+          Boolean.TRUE,
+          System.nanoTime(),
+          negativeTtlNanos,
+          negativeCacheMaxEntries
+      );
+    }
+  }
+
+  /**
+   * Looks up many pages at once.  This is equivalent to calling {@link #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}
+   * for each path, but walks the repositories only once per batch: each repository is searched only for the paths not
+   * found in any earlier repository.
+   *
+   * <p>Paths answered by the page cache or negative cache are not searched.  When
+   * {@linkplain #setRoutingTtl(java.time.Duration) routing is enabled}, routed paths are first looked-up in the member
+   * that last provided them, and only searched further when not found there.  When the
+   * {@linkplain #setBatchParallelism(int) batch parallelism} is above one, up to that many of the paths passed to each
+   * repository are looked-up concurrently.</p>
+   *
+   * @param paths  Iterated once only.  Duplicate paths are looked-up once.
+   *
+   * @return  a new map of each distinct path to the first page found or to {@code null} when the page does not exist
+   *          in any repository, iterated in the same order as {@code paths}
+   */
+  public Map<Path, Page> getPages(Collection<? extends Path> paths, CaptureLevel captureLevel) throws IOException {
+    Objects.requireNonNull(captureLevel);
+    long pageTtlNanos = pageCacheTtlNanos;
+    long negativeTtlNanos = negativeCacheTtlNanos;
+    Map<Path, Page> results = AoCollections.newLinkedHashMap(paths.size());
+    List<Path> search = new ArrayList<>(paths.size());
+    for (Path path : paths) {
+      if (results.containsKey(path)) {
+        continue;
+      }
+      if (pageTtlNanos != 0) {
+        CachedPage cached = pageCache.get(path, System.nanoTime());
+        if (cached != null && cached.satisfies(captureLevel)) {
+          pageCacheHits.increment();
+          results.put(path, cached.page);
+          continue;
+        }
+      }
+      results.put(path, null);
+      if (negativeTtlNanos != 0 && negativeCache.get(new PageKey(path, captureLevel), System.nanoTime()) != null) {
+        negativeCacheHits.increment();
+        continue;
+      }
+      search.add(path);
+    }
+    if (!search.isEmpty()) {
+      int parallelism = batchParallelism;
+      Executor e = (parallelism == 1) ? null : resolveExecutor();
+      // One context per path, since a member not searched for one path does not affect the others
+      LookupListener[] ls = listeners;
+      Map<Path, LookupContext> contexts = AoCollections.newHashMap(search.size());
+      for (Path path : search) {
+        contexts.put(path, new LookupContext(null, ls));
+      }
+      long routingTtl = routingTtlNanos;
+      long now = System.nanoTime();
+      int[] routed;
+      if (routingTtl == 0) {
+        routed = null;
+      } else {
+        routed = new int[search.size()];
+        for (int i = 0; i < routed.length; i++) {
+          routed[i] = routingIndex.get(search.get(i), now);
+        }
+      }
+      Found[] found = BatchLookup.getPages(
+          repositories.length,
+          (member, p, level) -> probe(member, p, level, contexts.get(p)),
+          search,
+          routed,
+          captureLevel,
+          e,
+          parallelism
+      );
+      for (int i = 0; i < found.length; i++) {
+        Path path = search.get(i);
+        Found f = found[i];
+        if (f != null) {
+          results.put(path, f.page);
+        }
+        boolean conclusive = contexts.get(path).isConclusive((f == null) ? -1 : f.member);
+        if (routed != null) {
+          int r = routed[i];
+          if (f != null && f.member == r) {
+            routingIndex.hit(r);
+          } else {
+            if (r != -1 && conclusive) {
+              routingIndex.remove(path);
+            }
+            routingIndex.miss();
+            if (f != null && conclusive) {
+              routingIndex.put(path, f.member, now, routingTtl, routingMaxEntries);
+            }
+          }
+        }
+        if (conclusive) {
+          cacheResult(path, captureLevel, (f == null) ? null : f.page);
+        }
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Looks up a page without blocking the calling thread.  The repositories are searched on the
+   * {@linkplain #setExecutor(java.util.concurrent.Executor) executor}, composed sequentially or concurrently according
+   * to the {@linkplain #setLookupPolicy(com.semanticcms.core.pages.union.LookupPolicy) lookup policy}, with the same
+   * result as {@link #getPage(com.aoapps.net.Path, com.semanticcms.core.pages.CaptureLevel)}.
+   *
+   * <p>Lookups answered by the page cache or negative cache return an already completed future.</p>
+   *
+   * <p>Cancelling the returned future cancels the repository lookups still running.  When
+   * {@linkplain #setCoalescing(boolean) coalescing is enabled}, the search is shared, and cancelling the future only
+   * stops waiting for it without affecting other callers.</p>
+   *
+   * @return  a future completed with the first page found or {@code null} when the page does not exist in any
+   *          repository, or completed exceptionally with the {@link IOException} thrown by a repository or with
+   *          {@link RejectedExecutionException} when the executor rejects a repository lookup, since they are never
+   *          performed on the calling thread
+   */
+  public CompletableFuture<Page> getPageAsync(Path path, CaptureLevel captureLevel) {
+    long pageTtlNanos = pageCacheTtlNanos;
+    long negativeTtlNanos = negativeCacheTtlNanos;
+    if (pageTtlNanos != 0) {
+      CachedPage cached = pageCache.get(path, System.nanoTime());
+      if (cached != null && cached.satisfies(captureLevel)) {
+        pageCacheHits.increment();
+        return CompletableFuture.completedFuture(cached.page);
+      }
+    }
+    PageKey key = new PageKey(path, captureLevel);
+    if (negativeTtlNanos != 0 && negativeCache.get(key, System.nanoTime()) != null) {
+      negativeCacheHits.increment();
+      return CompletableFuture.completedFuture(null);
+    }
+    return coalescing
+        ? singleFlight.getAsync(key, () -> lookupAsync(path, captureLevel))
+        : lookupAsync(path, captureLevel);
+  }
+
+  /**
+   * Searches the members for a page asynchronously, using the routing index when enabled.  The result is recorded in
+   * the routing index and caches only when {@linkplain LookupContext#isConclusive(int) conclusive}.
+   */
+  private CompletableFuture<Page> lookupAsync(Path path, CaptureLevel captureLevel) {
+    long ttlNanos = routingTtlNanos;
+    long now = System.nanoTime();
+    int routed = (ttlNanos == 0) ? -1 : routingIndex.get(path, now);
+    LookupContext context = new LookupContext(null, listeners);
+    CompletableFuture<Found> future = AsyncLookup.getPage(
+        repositories.length,
+        (member, p, level) -> probe(member, p, level, context),
+        routed,
+        path,
+        captureLevel,
+        resolveExecutor(),
+        lookupPolicy,
+        this::getHedgeDelayNanos
+    );
+    CompletableFuture<Page> page = future.thenApply(found -> {
+      int member = (found == null) ? -1 : found.member;
+      boolean conclusive = context.isConclusive(member);
+      if (ttlNanos != 0) {
+        if (found != null && member == routed) {
+          routingIndex.hit(routed);
+        } else {
+          if (routed != -1 && conclusive) {
+            routingIndex.remove(path);
+          }
+          routingIndex.miss();
+          if (found != null && conclusive) {
+            routingIndex.put(path, member, now, ttlNanos, routingMaxEntries);
+          }
+        }
+      }
+      Page p = (found == null) ? null : found.page;
+      if (conclusive) {
+        cacheResult(path, captureLevel, p);
+      }
+      return p;
+    });
+    // Cancelling the dependent future does not cancel the search on its own
+    page.whenComplete((p, t) -> {
+      if (page.isCancelled()) {
+        future.cancel(true);
+      }
+    });
+    return page;
+  }
+
+  /**
+   * Searches the members for a page, using the routing index when enabled.  The result is recorded in the routing
+   * index and caches only when {@linkplain LookupContext#isConclusive(int) conclusive}.
+   *
+   * @param context  the state of the lookup, shared by the probes of its members
+   * @param tracer  records the lookup or {@code null} when not explaining
+   */
+  private Page lookup(
+      Path path,
+      CaptureLevel captureLevel,
+      LookupContext context,
+      MemberProbe probe,
+      Tracer tracer
+  ) throws IOException {
+    long ttlNanos = routingTtlNanos;
+    int routed = -1;
+    long now = 0;
+    if (ttlNanos != 0) {
+      now = System.nanoTime();
+      routed = routingIndex.get(path, now);
+      if (routed != -1) {
+        if (tracer != null) {
+          tracer.routed(routed);
+        }
+        Page page = probe.getPage(routed, path, captureLevel);
+        if (page != null) {
+          routingIndex.hit(routed);
+          if (tracer != null) {
+            tracer.shortCircuit(LookupTrace.ShortCircuit.ROUTING_INDEX);
+          }
+          cacheResult(path, captureLevel, page);
+          return page;
+        }
+        if (context.isConclusive(-1)) {
+          // Only forgotten once actually searched
+          routingIndex.remove(path);
+        }
+      }
+      routingIndex.miss();
+    }
+    int member = -1;
+    Page page = null;
+    LookupPolicy policy = lookupPolicy;
+    if (policy != LookupPolicy.SEQUENTIAL && repositories.length > 1) {
+      Found found = scan(policy, path, captureLevel, routed, probe);
+      if (found != null) {
+        member = found.member;
+        page = found.page;
+      }
+    } else {
+      for (int i = 0; i < repositories.length; i++) {
+        if (i != routed) {
+          page = probe.getPage(i, path, captureLevel);
+          if (page != null) {
+            member = i;
+            break;
+          }
+        }
+      }
+    }
+    if (context.isConclusive(member)) {
+      if (page != null && ttlNanos != 0) {
+        routingIndex.put(path, member, now, ttlNanos, routingMaxEntries);
+      }
+      cacheResult(path, captureLevel, page);
+    }
+    return page;
+  }
+
+  /**
+   * Searches the members concurrently according to the given {@link LookupPolicy}.
+   *
+   * @param skip  the index of a member already searched or {@code -1} to search all
+   */
+  private Found scan(LookupPolicy policy, Path path, CaptureLevel captureLevel, int skip, MemberProbe probe)
+      throws IOException {
+    Executor e = resolveExecutor();
+    if (policy == LookupPolicy.PARALLEL) {
+      return ParallelLookup.getPage(repositories.length, probe, skip, path, captureLevel, e);
+    }
+    assert policy == LookupPolicy.HEDGED;
+    return HedgedLookup.getPage(
+        repositories.length,
+        probe,
+        skip,
+        path,
+        captureLevel,
+        e,
+        this::getHedgeDelayNanos
+    );
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A lock-free registry of canonical instances, which holds its values weakly until {@linkplain #retain(java.lang.Object, java.lang.Object) retained}.
+ * An instance not retained is released once no one else holds it, and a new instance is created on the next request
+ * for its key.
+ */
+final class WeakRegistry<K, V> {
+
+  private static final class Ref<K, V> extends WeakReference<V> {
+    private final K key;
+
+    /**
+     * Holds the value strongly while retained.
+     */
+    private volatile V retained;
+
+    private Ref(K key, V value, ReferenceQueue<? super V> queue) {
+      super(value, queue);
+      this.key = key;
+    }
+  }
+
+  private final ConcurrentMap<K, Ref<K, V>> map = new ConcurrentHashMap<>();
+  private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+  /**
+   * Gets the instance for the given key, creating it when not registered or already released.
+   * Concurrent requests for the same key always receive the same instance.
+   *
+   * @param key  the key used for lookup, which might not be safe to store
+   * @param storeKey  gets a key safe to store, called only when a new instance is created
+   */
+  V get(K key, UnaryOperator<K> storeKey, Function<? super K, ? extends V> factory) {
+    expunge();
+    Ref<K, V> ref = map.get(key);
+    if (ref != null) {
+      V value = ref.get();
+      if (value != null) {
+        return value;
+      }
+    }
+    return create(storeKey.apply(key), factory);
+  }
+
+  private V create(K key, Function<? super K, ? extends V> factory) {
+    while (true) {
+      Ref<K, V> ref = map.get(key);
+      if (ref != null) {
+        V value = ref.get();
+        if (value != null) {
+          return value;
+        }
+      }
+      V newValue = factory.apply(key);
+      Ref<K, V> newRef = new Ref<>(key, newValue, queue);
+      if ((ref == null) ? (map.putIfAbsent(key, newRef) == null) : map.replace(key, ref, newRef)) {
+        return newValue;
+      }
+      // Lost a race to another thread, use its instance
+    }
+  }
+
+  /**
+   * Holds the registered instance strongly, so it is returned for its key until {@linkplain #release(java.lang.Object, java.lang.Object) released}.
+   * Does nothing when the given instance is not the one registered for the key.
+   */
+  void retain(K key, V value) {
+    Ref<K, V> ref = map.get(key);
+    if (ref != null && ref.get() == value) {
+      ref.retained = value;
+    }
+  }
+
+  /**
+   * Holds a {@linkplain #retain(java.lang.Object, java.lang.Object) retained} instance weakly again, so it is released
+   * once no one else holds it.  Does nothing when the given instance is not the one registered for the key.
+   */
+  void release(K key, V value) {
+    Ref<K, V> ref = map.get(key);
+    if (ref != null && ref.get() == value) {
+      ref.retained = null;
+    }
+  }
+
+  /**
+   * Removes entries whose values have been released.
+   */
+  private void expunge() {
+    Reference<? extends V> released;
+    while ((released = queue.poll()) != null) {
+      @SuppressWarnings("unchecked")
+      Ref<K, V> ref = (Ref<K, V>) released;
+      map.remove(ref.key, ref);
+    }
+  }
+
+  int size() {
+    expunge();
+    return map.size();
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * semanticcms-core-pages-union - Combines multiple sets of SemanticCMS pages.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-pages-union.
+ *
+ * semanticcms-core-pages-union is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-pages-union is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-pages-union.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.pages.union;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The executor used for concurrent member lookups when none has been provided.
+ *
+ * <p>This Java 21 variant runs each member lookup on its own virtual thread, so any number of concurrent slow member
+ * lookups may be in-flight without sizing a thread pool.  Cancelled member lookups are interrupted the same as on
+ * platform threads.</p>
+ */
+final class DefaultExecutor {
+
+  /** Make no instances. */
+  private DefaultExecutor() {
+    throw new AssertionError();
+  }
+
+  private static class Holder {
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name(UnionPageRepository.class.getName() + ".executor-", 1).factory()
+    );
+  }
+
+  /**
+   * Gets the shared default executor, created on first use.
+   */
+  static Executor get() {
+    return Holder.executor;
+  }
+}